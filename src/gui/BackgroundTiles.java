@@ -0,0 +1,207 @@
+package gui;
+
+import util.ImageUtil;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Streamender Cache für den Level-Hintergrund.
+ * Vom Bild wird vorab nur der Header gelesen. Die Kacheln (senkrechte Streifen fester Breite) werden erst
+ * kurz bevor die Kamera sie erreicht im Hintergrund aus dem passenden Bildausschnitt dekodiert und einmalig
+ * auf die Ansichtshöhe skaliert. Es liegen nie mehr als MAX_TILES Kacheln im Speicher; was am weitesten
+ * von der Kamera entfernt ist, fliegt zuerst raus. Pro Frame werden nur die ein bis zwei sichtbaren Kacheln
+ * ohne Skalierung kopiert.
+ */
+class BackgroundTiles {
+    private static final int TILE_WIDTH = 1024;
+    private static final int MAX_TILES = 5; // Speicherbudget: sichtbare Kacheln plus Vorrat in beide Richtungen
+    private static final int PREFETCH = 1; // So viele Kacheln links und rechts der Kamera werden vorab geladen
+
+    // Ein gemeinsamer Lade-Thread für alle Levels
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Background-Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String path;
+    private final Component view; // Wird neu gezeichnet, sobald eine Kachel fertig ist
+    private final Map<Integer, Future<BufferedImage>> tiles = new ConcurrentHashMap<>();
+    private volatile Dimension size; // Maße des Originalbildes
+    private GraphicsConfiguration configuration;
+    private int height; // Höhe, für die die Kacheln skaliert werden
+    private double scale; // Skalierungsfaktor Ansicht / Bild
+    private int width; // Skalierte Gesamtbreite
+    private int tileCount;
+
+    /**
+     * @param path Pfad des Hintergrundbildes
+     * @param view Ansicht, die neu gezeichnet wird, sobald eine fehlende Kachel fertig dekodiert ist
+     */
+    BackgroundTiles(String path, Component view) {
+        this.path = path;
+        this.view = view;
+    }
+
+    /**
+     * Zeichnet den sichtbaren Ausschnitt des Hintergrunds. Wartet nie auf den Lade-Thread: Eine noch
+     * nicht fertige Kachel bleibt in diesem Frame leer, die Ansicht wird neu gezeichnet, sobald sie da ist.
+     *
+     * @param g2         Grafikkontext der Ansicht
+     * @param cameraX    Linker Rand der Kamera in Level-Koordinaten
+     * @param viewWidth  Breite der Ansicht
+     * @param viewHeight Höhe der Ansicht, auf die skaliert wird
+     */
+    void draw(Graphics2D g2, int cameraX, int viewWidth, int viewHeight) {
+        if (viewHeight <= 0)
+            return;
+        try {
+            if (size == null || height != viewHeight)
+                prepare(viewHeight, g2.getDeviceConfiguration());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        int first = Math.max(0, Math.floorDiv(cameraX, TILE_WIDTH));
+        int last = Math.min(tileCount - 1, Math.floorDiv(cameraX + viewWidth, TILE_WIDTH));
+        prefetch(first - PREFETCH, last + PREFETCH);
+        for (int i = first; i <= last; i++) {
+            BufferedImage tile = getTileIfReady(i);
+            if (tile != null)
+                g2.drawImage(tile, i * TILE_WIDTH - cameraX, 0, null);
+        }
+        evict(first, last);
+    }
+
+    /**
+     * Dekodiert vorab die Kacheln, die beim ersten Frame sichtbar sind, und wartet darauf
+     *
+     * @param cameraX       Linker Rand der Kamera zu Beginn
+     * @param viewWidth     Breite der Ansicht
+     * @param viewHeight    Höhe der Ansicht, auf die skaliert wird
+     * @param configuration Grafikkonfiguration des Bildschirms, auf dem gezeichnet wird
+     */
+    void warmUp(int cameraX, int viewWidth, int viewHeight, GraphicsConfiguration configuration) {
+        if (viewHeight <= 0 || configuration == null)
+            return;
+        try {
+            prepare(viewHeight, configuration);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        int first = Math.max(0, Math.floorDiv(cameraX, TILE_WIDTH));
+        int last = Math.min(tileCount - 1, Math.floorDiv(cameraX + viewWidth, TILE_WIDTH));
+        prefetch(first - PREFETCH, last + PREFETCH);
+        for (int i = first; i <= last; i++)
+            getTile(i);
+    }
+
+    private synchronized void prepare(int viewHeight, GraphicsConfiguration configuration) throws IOException {
+        if (size != null && height == viewHeight)
+            return;
+        if (size == null)
+            size = ImageUtil.getImageSize(path);
+        this.configuration = configuration;
+        height = viewHeight;
+        scale = viewHeight / size.getHeight();
+        width = (int) (scale * size.getWidth());
+        tileCount = (width + TILE_WIDTH - 1) / TILE_WIDTH;
+        for (Future<BufferedImage> tile : tiles.values())
+            tile.cancel(false);
+        tiles.clear();
+    }
+
+    private void prefetch(int from, int to) {
+        for (int i = Math.max(0, from); i <= Math.min(tileCount - 1, to); i++)
+            request(i);
+    }
+
+    private Future<BufferedImage> request(int i) {
+        int tileHeight = height;
+        int totalWidth = width;
+        GraphicsConfiguration configuration = this.configuration;
+        return tiles.computeIfAbsent(i, k -> loader.submit(() -> {
+            BufferedImage tile = decode(k, tileHeight, totalWidth, configuration);
+            view.repaint();
+            return tile;
+        }));
+    }
+
+    /**
+     * Liefert eine sichtbare Kachel, ohne zu warten
+     *
+     * @return Die Kachel oder null, falls sie noch dekodiert wird
+     */
+    private BufferedImage getTileIfReady(int i) {
+        Future<BufferedImage> tile = request(i);
+        return tile.isDone() ? getTile(i) : null;
+    }
+
+    /**
+     * Liefert eine sichtbare Kachel; ist sie noch nicht fertig, wird darauf gewartet. Nicht auf dem EDT aufrufen.
+     */
+    private BufferedImage getTile(int i) {
+        try {
+            return request(i).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            e.printStackTrace();
+            tiles.remove(i);
+        }
+        return null;
+    }
+
+    /**
+     * Wirft die am weitesten von der Kamera entfernten Kacheln raus, bis das Budget wieder passt
+     */
+    private void evict(int first, int last) {
+        while (tiles.size() > MAX_TILES) {
+            int farthest = -1;
+            int maxDistance = -1;
+            for (int i : tiles.keySet()) {
+                int distance = i < first ? first - i : i - last;
+                // Bei gleichem Abstand zuerst die Kacheln hinter der Kamera (links)
+                if (distance > maxDistance || distance == maxDistance && i < farthest) {
+                    maxDistance = distance;
+                    farthest = i;
+                }
+            }
+            if (maxDistance <= 0)
+                return;
+            Future<BufferedImage> tile = tiles.remove(farthest);
+            if (tile != null)
+                tile.cancel(false);
+        }
+    }
+
+    /**
+     * Dekodiert den zur Kachel gehörenden Bildausschnitt und skaliert ihn auf die Ansichtshöhe
+     */
+    private BufferedImage decode(int i, int tileHeight, int totalWidth, GraphicsConfiguration configuration)
+            throws IOException {
+        double scale = tileHeight / size.getHeight();
+        int tileX = i * TILE_WIDTH;
+        int tileWidth = Math.min(TILE_WIDTH, totalWidth - tileX);
+
+        // Ein Pixel Rand auf beiden Seiten, damit die bilineare Interpolation an den Kanten keine Nähte erzeugt
+        int sourceX = Math.max(0, (int) Math.floor(tileX / scale) - 1);
+        int sourceEnd = Math.min(size.width, (int) Math.ceil((tileX + tileWidth) / scale) + 1);
+        BufferedImage strip = ImageUtil.getImageRegion(path, new Rectangle(sourceX, 0, sourceEnd - sourceX, size.height));
+
+        BufferedImage tile = configuration.createCompatibleImage(tileWidth, tileHeight, Transparency.OPAQUE);
+        Graphics2D g = tile.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.translate(-tileX, 0);
+        g.scale(scale, scale);
+        g.drawImage(strip, sourceX, 0, null);
+        g.dispose();
+        return tile;
+    }
+}
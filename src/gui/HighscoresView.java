@@ -1,20 +1,32 @@
 package gui;
 
 import util.Constants;
-import util.DBConnection;
+import util.Highscore;
 import util.ImageUtil;
+import util.Leaderboard;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
 import java.io.IOException;
-import java.sql.ResultSet;
 import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Objects;
 
 class HighscoresView extends AbstractView {
     private static HighscoresView instance;
+    private static final int ROWS = 10;
+    private static final Color CURRENT_PLAYER_COLOR = new Color(177, 108, 0);
+
     private JPanel highScoreList;
+    private JPanel list;
+    private JLabel statusLabel;
+    private final JLabel[] placeCells = new JLabel[ROWS];
+    private final JLabel[] nameCells = new JLabel[ROWS];
+    private final JLabel[] scoreCells = new JLabel[ROWS];
+    private final JLabel[] dateCells = new JLabel[ROWS];
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy");
+    private Highscore[] shownTop; // Zuletzt angezeigte Rangliste, für das Diffing
+    private String shownName;
     private Border listCollumBorder = BorderFactory.createEmptyBorder(10, 50, 0, 50); //bottom sollte immer 0 sein
     private Border listCellBorder = BorderFactory.createEmptyBorder(20, 0, 20, 0); //left, right sollte immer 0 sein, wird von listCollumBorder übernommen
     private Border listCollumHeaderBorder = BorderFactory.createEmptyBorder(35, 0, 35, 0); //top,left,right sollte immer 0 sein, sie ^
@@ -45,8 +57,9 @@ class HighscoresView extends AbstractView {
         constraints.insets = new Insets(5, 0, 5, 0);
         listTopLevelPanel.setOpaque(false);
 
-        JPanel list = new JPanel(new FlowLayout());
+        list = new JPanel(new FlowLayout());
         list.setOpaque(false);
+        list.setVisible(false);
 
         //Tolle Spalte links mit Erster, Zweiter, ...
         JPanel fancyCollumPanel = new JPanel();
@@ -67,112 +80,147 @@ class HighscoresView extends AbstractView {
             e.printStackTrace();
         }
 
-
         //Einzelne Spalten
-        JPanel namePanel = new JPanel();
-        namePanel.setLayout(new BoxLayout(namePanel, BoxLayout.Y_AXIS));
-        namePanel.setBorder(listCollumBorder);
-        namePanel.setOpaque(false);
-        list.add(namePanel);
-        JPanel scorePanel = new JPanel();
-        scorePanel.setLayout(new BoxLayout(scorePanel, BoxLayout.Y_AXIS));
-        scorePanel.setBorder(listCollumBorder);
-        scorePanel.setOpaque(false);
-        list.add(scorePanel);
-        JPanel datePanel = new JPanel();
-        datePanel.setLayout(new BoxLayout(datePanel, BoxLayout.Y_AXIS));
-        datePanel.setBorder(listCollumBorder);
-        datePanel.setOpaque(false);
-        list.add(datePanel);
-
-        //Überschriften der Spalten
-        JLabel nameColumn = new JLabel(Constants.DB_COLLUM_NAME);
-        nameColumn.setAlignmentX(Component.CENTER_ALIGNMENT);
-        nameColumn.setBorder(listCollumHeaderBorder);
-        nameColumn.setForeground(Constants.FOREGROUND_COLOR);
-        nameColumn.setFont(Constants.DEFAULT_FONT.deriveFont(Font.BOLD));
-        namePanel.add(nameColumn);
-        JLabel scoreColumn = new JLabel(Constants.DB_COLLUM_SCORE);
-        scoreColumn.setAlignmentX(Component.CENTER_ALIGNMENT);
-        scoreColumn.setBorder(listCollumHeaderBorder);
-        scoreColumn.setForeground(Constants.FOREGROUND_COLOR);
-        scoreColumn.setFont(Constants.DEFAULT_FONT.deriveFont(Font.BOLD));
-        scorePanel.add(scoreColumn);
-        JLabel dateColumn = new JLabel(Constants.DB_COLLUM_DATE);
-        dateColumn.setAlignmentX(Component.CENTER_ALIGNMENT);
-        dateColumn.setBorder(listCollumHeaderBorder);
-        dateColumn.setForeground(Constants.FOREGROUND_COLOR);
-        dateColumn.setFont(Constants.DEFAULT_FONT.deriveFont(Font.BOLD));
-        datePanel.add(dateColumn);
-
-        //Füllen der Tabelle
-        try {
-            ResultSet highScoreSet = DBConnection.getInstance().query("SELECT * FROM " + Constants.DB_TABLE + " ORDER BY " + Constants.DB_COLLUM_SCORE + " DESC LIMIT 10;");
-            for (int i = 1; highScoreSet.next(); i++) { //i wird für die Platznummer gebraucht ....
-                JLabel nameCell = new JLabel(highScoreSet.getString(Constants.DB_COLLUM_NAME));
-                nameCell.setAlignmentX(Component.CENTER_ALIGNMENT);
-                nameCell.setBorder(listCellBorder);
-                nameCell.setForeground(Constants.FOREGROUND_COLOR);
-                nameCell.setFont(Constants.DEFAULT_FONT);
-                namePanel.add(nameCell);
-
-                JLabel scoreCell = new JLabel(Integer.toString(highScoreSet.getInt(Constants.DB_COLLUM_SCORE)));
-                scoreCell.setAlignmentX(Component.CENTER_ALIGNMENT);
-                scoreCell.setBorder(listCellBorder);
-                scoreCell.setForeground(Constants.FOREGROUND_COLOR);
-                scoreCell.setFont(Constants.DEFAULT_FONT);
-                scorePanel.add(scoreCell);
-
-                Date date = highScoreSet.getDate(Constants.DB_COLLUM_DATE);
-                SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy");
-                String dateString = dateFormat.format(date);
-
-                JLabel dateCell = new JLabel(dateString);
-                dateCell.setAlignmentX(Component.CENTER_ALIGNMENT);
-                dateCell.setBorder(listCellBorder);
-                dateCell.setForeground(Constants.FOREGROUND_COLOR);
-                dateCell.setFont(Constants.DEFAULT_FONT);
-                datePanel.add(dateCell);
-
-                //Für jeden Platz das Fancy "Platz .." Schild in dem Fancy Seiten-Panel; wird hier erzeugt, damit es keine leeren Plätze gibt ( falls weniger als 10 Highscores existieren )
-                JLabel label = new JLabel(i + ". Platz");
-                label.setAlignmentX(Component.CENTER_ALIGNMENT);
-                label.setBorder(listCellBorder);
-                label.setForeground(Constants.FOREGROUND_COLOR);
-                label.setFont(Constants.DEFAULT_FONT.deriveFont(Font.BOLD));
-                fancyCollumPanel.add(label);
-
-                listTopLevelPanel.add(list, constraints);
-
-                if (highScoreSet.getString(Constants.DB_COLLUM_NAME).compareTo(MainMenuView.getInstance().getCurrentName()) == 0) {
-                    Color currentPlayerScores = new Color(177, 108, 0);
-                    nameCell.setForeground(currentPlayerScores);
-                    scoreCell.setForeground(currentPlayerScores);
-                    dateCell.setForeground(currentPlayerScores);
-                    label.setForeground(currentPlayerScores);
-                }
-
-            }
-            highScoreSet.close(); // gaaanz wichtig!!
-        } catch (Exception e) {
-            e.printStackTrace();
-            JLabel fail = new JLabel("HOPPLA! Da ist wohl was schief gegangen :/");
-            fail.setForeground(Constants.FOREGROUND_COLOR);
-            listTopLevelPanel.add(fail, constraints);
+        JPanel namePanel = createColumn(Constants.DB_COLLUM_NAME);
+        JPanel scorePanel = createColumn(Constants.DB_COLLUM_SCORE);
+        JPanel datePanel = createColumn(Constants.DB_COLLUM_DATE);
+
+        //Die Zellen werden einmalig angelegt und später nur noch befüllt
+        for (int i = 0; i < ROWS; i++) {
+            //Für jeden Platz das Fancy "Platz .." Schild in dem Fancy Seiten-Panel; wird erst bei Bedarf sichtbar, damit es keine leeren Plätze gibt ( falls weniger als 10 Highscores existieren )
+            placeCells[i] = createCell(fancyCollumPanel, Constants.DEFAULT_FONT.deriveFont(Font.BOLD));
+            placeCells[i].setText((i + 1) + ". Platz");
+            nameCells[i] = createCell(namePanel, Constants.DEFAULT_FONT);
+            scoreCells[i] = createCell(scorePanel, Constants.DEFAULT_FONT);
+            dateCells[i] = createCell(datePanel, Constants.DEFAULT_FONT);
         }
+        listTopLevelPanel.add(list, constraints);
+
+        //Platzhalter, solange geladen wird (oder falls etwas schief geht)
+        statusLabel = new JLabel("Lade Highscores ...");
+        statusLabel.setForeground(Constants.FOREGROUND_COLOR);
+        statusLabel.setFont(Constants.DEFAULT_FONT);
+        listTopLevelPanel.add(statusLabel, constraints);
+
         return listTopLevelPanel;
     }
 
+    private JPanel createColumn(String title) {
+        JPanel column = new JPanel();
+        column.setLayout(new BoxLayout(column, BoxLayout.Y_AXIS));
+        column.setBorder(listCollumBorder);
+        column.setOpaque(false);
+        list.add(column);
+
+        //Überschrift der Spalte
+        JLabel header = new JLabel(title);
+        header.setAlignmentX(Component.CENTER_ALIGNMENT);
+        header.setBorder(listCollumHeaderBorder);
+        header.setForeground(Constants.FOREGROUND_COLOR);
+        header.setFont(Constants.DEFAULT_FONT.deriveFont(Font.BOLD));
+        column.add(header);
+        return column;
+    }
+
+    private JLabel createCell(JPanel column, Font font) {
+        JLabel cell = new JLabel();
+        cell.setAlignmentX(Component.CENTER_ALIGNMENT);
+        cell.setBorder(listCellBorder);
+        cell.setForeground(Constants.FOREGROUND_COLOR);
+        cell.setFont(font);
+        cell.setVisible(false);
+        column.add(cell);
+        return cell;
+    }
+
+    /**
+     * Zeigt die Ansicht sofort an und lädt die Rangliste im Hintergrund
+     */
     public void refresh() {
-        if (highScoreList != null) {
-            remove(highScoreList);
+        if (highScoreList == null) {
+            highScoreList = initHighScoreList();
+            add(highScoreList, BorderLayout.CENTER);
         }
-        highScoreList = initHighScoreList();
-        add(highScoreList, BorderLayout.CENTER);
+        if (shownTop == null) {
+            statusLabel.setText("Lade Highscores ...");
+            statusLabel.setVisible(true);
+        }
+        String currentName = MainMenuView.getInstance().getCurrentName();
+
+        new SwingWorker<Highscore[], Void>() {
+            @Override
+            protected Highscore[] doInBackground() {
+                Highscore[] top = new Highscore[ROWS];
+                int i = 0;
+                for (Highscore highscore : Leaderboard.getInstance().getTop(ROWS))
+                    top[i++] = highscore;
+                return top;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    update(get(), currentName);
+                    statusLabel.setVisible(false);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    statusLabel.setText("HOPPLA! Da ist wohl was schief gegangen :/");
+                    statusLabel.setVisible(true);
+                }
+                revalidate();
+                repaint();
+            }
+        }.execute();
         revalidate();
         repaint();
     }
 
+    /**
+     * Aktualisiert nur die Zellen, die sich gegenüber der zuletzt angezeigten Rangliste geändert haben
+     *
+     * @param top         Die neue Rangliste, null-Einträge für leere Plätze
+     * @param currentName Der Name, dessen Einträge hervorgehoben werden
+     */
+    private void update(Highscore[] top, String currentName) {
+        for (int i = 0; i < ROWS; i++) {
+            Highscore highscore = top[i];
+            Highscore shown = shownTop != null ? shownTop[i] : null;
+            boolean highlighted = highscore != null && highscore.getName().equals(currentName);
+            boolean wasHighlighted = shown != null && shown.getName().equals(shownName);
+
+            if (highscore == null) {
+                if (shown != null || shownTop == null)
+                    setRowVisible(i, false);
+                continue;
+            }
+            if (shown == null)
+                setRowVisible(i, true);
+            if (shown == null || !shown.getName().equals(highscore.getName()))
+                nameCells[i].setText(highscore.getName());
+            if (shown == null || shown.getScore() != highscore.getScore())
+                scoreCells[i].setText(Integer.toString(highscore.getScore()));
+            if (shown == null || !Objects.equals(shown.getDate(), highscore.getDate()))
+                dateCells[i].setText(highscore.getDate() != null ? dateFormat.format(highscore.getDate()) : "");
+            if (shown == null || highlighted != wasHighlighted) {
+                Color color = highlighted ? CURRENT_PLAYER_COLOR : Constants.FOREGROUND_COLOR;
+                placeCells[i].setForeground(color);
+                nameCells[i].setForeground(color);
+                scoreCells[i].setForeground(color);
+                dateCells[i].setForeground(color);
+            }
+        }
+        list.setVisible(top[0] != null);
+        shownTop = top;
+        shownName = currentName;
+    }
+
+    private void setRowVisible(int i, boolean visible) {
+        placeCells[i].setVisible(visible);
+        nameCells[i].setVisible(visible);
+        scoreCells[i].setVisible(visible);
+        dateCells[i].setVisible(visible);
+    }
+
     static HighscoresView getInstance() {
         if (instance == null)
             instance = new HighscoresView();
@@ -10,7 +10,8 @@ import java.awt.event.KeyEvent;
 public class KeyHandler extends KeyAdapter {
     private final Player player;
 
-    public boolean left, right, run, jump, crouch, strike, menu, debug;
+    public boolean left, right, run, jump, crouch, strike, shoot, volley, menu, debug;
+    public int particleBudgetChange; // Im Debug-Modus: -1 halbiert, 1 verdoppelt das Partikelbudget
 
     private final int KEY_JUMP;
     private final int KEY_LEFT;
@@ -18,6 +19,7 @@ public class KeyHandler extends KeyAdapter {
     private final int KEY_CROUCH;
     private final int KEY_RUN;
     private final int KEY_STRIKE;
+    private final int KEY_SHOOT;
     private final int KEY_MENU;
     private final int KEY_DEBUG;
 
@@ -31,6 +33,7 @@ public class KeyHandler extends KeyAdapter {
             KEY_RIGHT = Constants.ALT_KEY_RIGHT;
             KEY_CROUCH = Constants.ALT_KEY_CROUCH;
             KEY_STRIKE = Constants.ALT_KEY_STRIKE;
+            KEY_SHOOT = Constants.ALT_KEY_SHOOT;
             KEY_MENU = Constants.KEY_MENU;
             KEY_DEBUG = Constants.KEY_DEBUG;
             KEY_RUN = Constants.KEY_RUN;
@@ -40,6 +43,7 @@ public class KeyHandler extends KeyAdapter {
             KEY_RIGHT = Constants.KEY_RIGHT_DEFAULT;
             KEY_CROUCH = Constants.KEY_CROUCH_DEFAULT;
             KEY_STRIKE = Constants.KEY_STRIKE_DEFAULT;
+            KEY_SHOOT = Constants.KEY_SHOOT_DEFAULT;
             KEY_MENU = Constants.KEY_MENU;
             KEY_DEBUG = Constants.KEY_DEBUG;
             KEY_RUN = Constants.KEY_RUN;
@@ -66,6 +70,14 @@ public class KeyHandler extends KeyAdapter {
             menu = !menu;
         if (keyCode == KEY_DEBUG)
             debug = !debug;
+        if (keyCode == KEY_SHOOT)
+            shoot = true;
+        if (keyCode == Constants.KEY_VOLLEY && debug)
+            volley = true;
+        if (keyCode == Constants.KEY_FEWER_PARTICLES && debug)
+            particleBudgetChange = -1;
+        if (keyCode == Constants.KEY_MORE_PARTICLES && debug)
+            particleBudgetChange = 1;
     }
 
     @Override
@@ -85,6 +97,8 @@ public class KeyHandler extends KeyAdapter {
         if (keyCode == KEY_STRIKE) {
             strike = false;
         }
+        if (keyCode == KEY_SHOOT)
+            shoot = false;
     }
 
     public void process() {
@@ -140,5 +154,6 @@ public class KeyHandler extends KeyAdapter {
         run = false;
         jump = false;
         crouch = false;
+        shoot = false;
     }
 }
@@ -1,21 +1,24 @@
 package gui;
 
 import logic.AIManager;
+import logic.Animator;
 import logic.CollisionHandler;
 import logic.LawMaster;
+import logic.ParticleSystem;
+import logic.ProjectileSystem;
+import logic.TriggerSystem;
 import model.Camera;
-import model.Enemy;
 import model.Level;
 import model.Player;
+import model.World;
+import util.AudioService;
 import util.Constants;
-import util.DBConnection;
+import util.Leaderboard;
+import util.RunTelemetry;
 import util.SoundUtil;
 
 import javax.swing.*;
 import java.awt.*;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.text.SimpleDateFormat;
 
 
 public class LevelView extends AbstractView implements Runnable {
@@ -24,9 +27,13 @@ public class LevelView extends AbstractView implements Runnable {
     private final Camera camera; // Die aktuelle "Kamera"
     private final KeyHandler keyHandler;
     private final CollisionHandler collisionHandler;
+    private final TriggerSystem triggerSystem;
+    private final ProjectileSystem projectiles;
+    private final ParticleSystem particles;
     private final AIManager aiManager;
     private final Renderer renderer;
     private final LawMaster lawMaster;
+    private final Animator animator;
     private JPanel menuPanel;
     private JButton continueButton;
     private JLabel messageLabel;
@@ -35,16 +42,24 @@ public class LevelView extends AbstractView implements Runnable {
     private boolean running;
     private boolean paused;
     private int ups = 0, fps = 0;
+    private double frameTime; // Geglättete Zeichenzeit eines Frames in ms
+    private long startTime; // Beginn des Durchlaufs in ns
+    private final RunTelemetry.TickHistogram tickTimes = new RunTelemetry.TickHistogram();
 
     LevelView(Level level) {
         this.level = level;
         player = new Player(LobbyView.getInstance().getWidth() / 2, Constants.GROUND_LEVEL);
+        level.getWorld().add(player);
         camera = new Camera(player, this);
         keyHandler = new KeyHandler(player);
         lawMaster = new LawMaster();
+        animator = new Animator();
         collisionHandler = new CollisionHandler(player, level, keyHandler);
-        aiManager = new AIManager(collisionHandler);
-        renderer = new Renderer(level, camera, player, keyHandler, this);
+        projectiles = new ProjectileSystem(player, level, keyHandler, collisionHandler);
+        aiManager = new AIManager(collisionHandler, projectiles);
+        triggerSystem = new TriggerSystem(player, level);
+        particles = new ParticleSystem(level.getWorld().getEvents(), readParticleBudget());
+        renderer = new Renderer(level, camera, player, keyHandler, projectiles, particles, this);
 
         setLayout(new BorderLayout());
         setIgnoreRepaint(true);
@@ -52,8 +67,27 @@ public class LevelView extends AbstractView implements Runnable {
         initPauseMenu();
     }
 
+    private static int readParticleBudget() {
+        try {
+            return Integer.parseInt(MainFrame.getInstance().getProperties().getProperty(Constants.PROPERTY_PARTICLE_BUDGET,
+                    Integer.toString(Constants.PARTICLE_BUDGET)));
+        } catch (NumberFormatException e) {
+            e.printStackTrace();
+            return Constants.PARTICLE_BUDGET;
+        }
+    }
+
+    /**
+     * Erledigt vor dem Start die teure Vorarbeit des ersten Frames, siehe Renderer.warmUp
+     */
+    void warmUp(int width, int height, GraphicsConfiguration configuration) {
+        renderer.warmUp(width, height, configuration);
+    }
+
     public void run() {
         running = true;
+        AudioService.getInstance().listen(level.getWorld().getEvents());
+        startTime = System.nanoTime();
         SoundUtil.playRandomBackgroundMusic();
 
         int updateCount = 0;
@@ -81,7 +115,9 @@ public class LevelView extends AbstractView implements Runnable {
                 }
 
                 while (lag >= TIME_PER_UPDATE) {
+                    long updateStart = System.nanoTime();
                     update();
+                    tickTimes.add(System.nanoTime() - updateStart);
                     updateCount++;
                     lag -= TIME_PER_UPDATE;
                 }
@@ -106,6 +142,7 @@ public class LevelView extends AbstractView implements Runnable {
                 lastTime = System.nanoTime();
             }
         }
+        AudioService.getInstance().listen(null);
         System.out.println(this.getClass().getSimpleName() + " ist raus, Onkel Klaus!");
     }
 
@@ -117,9 +154,7 @@ public class LevelView extends AbstractView implements Runnable {
         keyHandler.process();
 
         // 3. General Gravitation
-        lawMaster.applyGravitation(player);
-        for (Enemy enemy : level.getEnemies())
-            lawMaster.applyGravitation(enemy);
+        lawMaster.applyGravitation(level.getWorld());
 
         // 4. Ausdauerverbrauch
         lawMaster.updateStamina(player);
@@ -127,6 +162,7 @@ public class LevelView extends AbstractView implements Runnable {
 
         // 5. Kollision - zuerst in x- dann in y-Richtung
         collisionHandler.forPlayer();
+        projectiles.forPlayer();
 
         // Test
         aiManager.handleAI(level, player);
@@ -137,12 +173,26 @@ public class LevelView extends AbstractView implements Runnable {
         }
 
         // 7. Änderungen vornehmen
-        player.move();
+        lawMaster.move(level.getWorld());
+        triggerSystem.update();
+        projectiles.update();
+        particles.update();
+        renderer.pollEvents();
+        animator.update(level.getWorld());
+        level.getWorld().applyRemovals(); // Tote Gegner erst jetzt herausnehmen, siehe drawFrame
+        renderer.publishEnemies();
         camera.move();
 
         if (!hasFocus())
             keyHandler.clear();
 
+        if (keyHandler.particleBudgetChange != 0) {
+            int budget = particles.getBudget();
+            particles.setBudget(keyHandler.particleBudgetChange < 0 ? budget / 2 : Math.max(1000, budget * 2));
+            MainFrame.getInstance().getProperties().put(Constants.PROPERTY_PARTICLE_BUDGET, Integer.toString(particles.getBudget()));
+            keyHandler.particleBudgetChange = 0;
+        }
+
         if (keyHandler.menu) {
             paused = true;
             SoundUtil.soundSystem.pause(SoundUtil.MUSIC_SOURCE);
@@ -161,36 +211,23 @@ public class LevelView extends AbstractView implements Runnable {
                     SoundUtil.playEffect("victory");
                 }
                 messageLabel.setVisible(true);
-                scoreLabel.setText("Score: " + player.getScore());
-                scoreLabel.setVisible(true);
+                int score = player.getScore();
+                Leaderboard.getInstance().submit(MainMenuView.getInstance().getCurrentName(), score)
+                        .handle((newHighscore, e) -> {
+                            if (e != null)
+                                e.printStackTrace(); // Ohne Datenbank gibt es eben keinen Highscore
+                            SwingUtilities.invokeLater(() -> {
+                                scoreLabel.setText("Score: " + score + (newHighscore == Boolean.TRUE ? " - Neuer Highscore!" : ""));
+                                scoreLabel.setVisible(true);
+                            });
+                            return null;
+                        });
                 continueButton.setVisible(false);
                 running = false;
-                try {
-                    String date = new SimpleDateFormat("#yyyy-MM-dd#").format(new java.util.Date());
-                    String query = String.format("SELECT * FROM %s WHERE %s = '%s';",
-                            Constants.DB_TABLE, Constants.DB_COLLUM_NAME, MainMenuView.getInstance().getCurrentName());
-                    ResultSet highScoreSet = DBConnection.getInstance().query(query);
-
-                    if (highScoreSet.next()) {
-                        if (player.getScore() > highScoreSet.getInt(Constants.DB_COLLUM_SCORE)) {
-                            String update = String.format("UPDATE %s SET %s = %d, %s = %s WHERE %s = '%s';",
-                                    Constants.DB_TABLE,
-                                    Constants.DB_COLLUM_SCORE, player.getScore(),
-                                    Constants.DB_COLLUM_DATE, date,
-                                    Constants.DB_COLLUM_NAME, MainMenuView.getInstance().getCurrentName());
-                            DBConnection.getInstance().update(update);
-                        }
-                    } else {
-                        String insert = String.format("INSERT INTO %s (%s, %s, %s) VALUES ('%s', %d, %s);",
-                                Constants.DB_TABLE,
-                                Constants.DB_COLLUM_NAME, Constants.DB_COLLUM_SCORE, Constants.DB_COLLUM_DATE,
-                                MainMenuView.getInstance().getCurrentName(), player.getScore(), date);
-                        DBConnection.getInstance().update(insert);
-                    }
-                    highScoreSet.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+                RunTelemetry.getInstance().record(new RunTelemetry.Run(level.getNumber(),
+                        (int) ((System.nanoTime() - startTime) / 1_000_000), player.getScore(),
+                        player.isDead() ? (float) player.getX() : Float.NaN,
+                        player.getKills(), player.getCrosses(), tickTimes));
                 repaint();
             }
         }
@@ -198,10 +235,22 @@ public class LevelView extends AbstractView implements Runnable {
 
     @Override
     protected void paintComponent(Graphics g) {
-        Graphics2D g2 = (Graphics2D) g;
+        long paintStart = System.nanoTime();
+        drawFrame((Graphics2D) g);
+        frameTime = 0.95 * frameTime + 0.05 * (System.nanoTime() - paintStart) / 1_000_000.0;
+    }
+
+    /**
+     * Zeichnet einen Frame. Was Figuren über ihre Id in der World liest, passiert unter dem Monitor der World,
+     * damit der Update-Thread dabei keine Figuren aufrücken lässt (siehe World.applyRemovals); der Rest des
+     * Frames hält den Update-Thread nicht auf.
+     */
+    private void drawFrame(Graphics2D g2) {
+        World world = level.getWorld();
 
         // 0. Reset
         g2.clearRect(0, 0, getWidth(), getHeight());
+        renderer.beginFrame();
 
         // 1. Background
         renderer.drawBackground(g2);
@@ -213,29 +262,46 @@ public class LevelView extends AbstractView implements Runnable {
         renderer.drawGrounds(g2);
 
         // 3. Enemies
-        renderer.drawEnemies(g2);
-        renderer.drawEnemySwords(g2);
+        renderer.drawCrosses(g2);
+        synchronized (world) {
+            renderer.drawEnemies(g2);
+            renderer.drawEnemySwords(g2);
+        }
 
         // 4. Obstacles
         renderer.drawObstacles(g2);
+        renderer.drawProjectiles(g2);
+        renderer.drawParticles(g2);
 
         // 5. Player
         if (running) {
-            renderer.drawPlayer(g2);
-            renderer.drawSword(g2);
+            synchronized (world) {
+                renderer.drawPlayer(g2);
+                if (player.getBowCharge() > 0)
+                    renderer.drawBow(g2);
+                else
+                    renderer.drawSword(g2);
+            }
         }
 
         // 6. Score
+        renderer.drawPopups(g2);
         if (running)
             renderer.drawScore(g2);
 
         // 7. Debug Screen
         if (keyHandler.debug) {
-            renderer.drawDebugScreen(g2);
+            synchronized (world) {
+                renderer.drawDebugScreen(g2);
+            }
         }
 
         //8. Pausen- und Game-Over-Menü
-        if (keyHandler.menu || player.isDead() || (player.getX() + getWidth() / 2 > level.getLength() && player.getY() < 1000)) {
+        boolean over;
+        synchronized (world) {
+            over = player.isDead() || (player.getX() + getWidth() / 2 > level.getLength() && player.getY() < 1000);
+        }
+        if (keyHandler.menu || over) {
             menuPanel.setVisible(true);
             g2.setColor(new Color(0, 0, 0, 0.8f));
             g2.fillRect(0, 0, getWidth(), getHeight());
@@ -292,10 +358,8 @@ public class LevelView extends AbstractView implements Runnable {
             running = false;
             SoundUtil.soundSystem.stop(SoundUtil.MUSIC_SOURCE);
             SoundUtil.soundSystem.cull(SoundUtil.MUSIC_SOURCE);
-            SoundUtil.soundSystem.stop("death");
-            SoundUtil.soundSystem.cull("death");
-            SoundUtil.soundSystem.stop("victory");
-            SoundUtil.soundSystem.cull("victory");
+            SoundUtil.stopEffect("death");
+            SoundUtil.stopEffect("victory");
             MainFrame.getInstance().changeTo(LobbyView.getInstance());
         });
 
@@ -314,4 +378,8 @@ public class LevelView extends AbstractView implements Runnable {
     int getFps() {
         return fps;
     }
+
+    double getFrameTime() {
+        return frameTime;
+    }
 }
\ No newline at end of file
@@ -3,15 +3,32 @@ package gui;
 import logic.Behavior;
 import model.*;
 import util.Constants;
+import util.ImageUtil;
 import util.List;
+import util.SoundUtil;
+import util.SpriteAtlas;
+import util.Startup;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 class LobbyView extends AbstractView {
+    // Gemeinsamer Pool für das parallele Vorladen der Level-Ressourcen
+    private static final ExecutorService loader = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "Level-Loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     private static LobbyView instance;
+    private final JProgressBar progressBar;
+    private boolean loading;
 
     private LobbyView() {
         super();
@@ -43,6 +60,13 @@ class LobbyView extends AbstractView {
         scrollPane.getViewport().setOpaque(false);
         add(scrollPane, BorderLayout.CENTER);
 
+        //Fortschrittsanzeige beim Vorbereiten eines Levels
+        progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setFont(Constants.DEFAULT_FONT.deriveFont(18F));
+        progressBar.setVisible(false);
+        add(progressBar, BorderLayout.SOUTH);
+
 
         Font buttonFont = Constants.DEFAULT_FONT.deriveFont(24F);
         //Buttons für einzelne Lvl
@@ -50,14 +74,14 @@ class LobbyView extends AbstractView {
         WoodenButton lvl1 = new WoodenButton("Metzger's Zorn");
         lvl1.setPreferredSize(Constants.DEFAULT_BUTTON_SIZE);
         lvl1.setFont(buttonFont);
-        lvl1.addActionListener(a -> loadLevel(createLevel1()));
+        lvl1.addActionListener(a -> loadLevel(this::createLevel1));
         levelButtonPanel.add(lvl1, constraints);
 
         //Level 2
         WoodenButton lvl2 = new WoodenButton("Pfad des Verderbens");
         lvl2.setPreferredSize(Constants.DEFAULT_BUTTON_SIZE);
         lvl2.setFont(buttonFont);
-        lvl2.addActionListener(a -> loadLevel(createLevel2()));
+        lvl2.addActionListener(a -> loadLevel(this::createLevel2));
         levelButtonPanel.add(lvl2, constraints);
 
         /*
@@ -67,21 +91,21 @@ class LobbyView extends AbstractView {
         WoodenButton lvl3 = new WoodenButton("ITS JUST AN EXPERIMENT I");
         lvl3.setPreferredSize(Constants.DEFAULT_BUTTON_SIZE);
         lvl3.setFont(buttonFont);
-        lvl3.addActionListener(a -> loadLevel(createLevel3()));
+        lvl3.addActionListener(a -> loadLevel(this::createLevel3));
         levelButtonPanel.add(lvl3, constraints);
 
         //Level 4
         WoodenButton lvl4 = new WoodenButton("ITS JUST AN EXPERIMENT II");
         lvl4.setPreferredSize(Constants.DEFAULT_BUTTON_SIZE);
         lvl4.setFont(buttonFont);
-        lvl4.addActionListener(a -> loadLevel(createLevel4()));
+        lvl4.addActionListener(a -> loadLevel(this::createLevel4));
         levelButtonPanel.add(lvl4, constraints);
 
         //Level 5
         WoodenButton lvl5 = new WoodenButton("Schnelles Glück");
         lvl5.setPreferredSize(Constants.DEFAULT_BUTTON_SIZE);
         lvl5.setFont(buttonFont);
-        lvl5.addActionListener(a -> loadLevel(createLevel5()));
+        lvl5.addActionListener(a -> loadLevel(this::createLevel5));
         levelButtonPanel.add(lvl5, constraints);
         */
 
@@ -94,12 +118,90 @@ class LobbyView extends AbstractView {
         levelButtonPanel.add(backButton, constraints);
     }
 
-    private void loadLevel(Level level) {
-        LevelView levelView = new LevelView(level);
-        MainFrame.getInstance().changeTo(levelView);
-        levelView.setFocusable(true);
-        levelView.requestFocusInWindow();
-        new Thread(levelView).start();
+    /**
+     * Bereitet ein Level im Hintergrund vor und startet es erst, wenn alles geladen ist:
+     * Das Level wird gebaut, danach werden alle Sprites der vorkommenden Figuren und die Bodentexturen
+     * parallel dekodiert, zuletzt Texturatlas und sichtbarer Hintergrund. So ruckeln die ersten
+     * Sekunden des Spiels nicht mehr, weil nichts mehr beim ersten Zeichnen geladen werden muss.
+     *
+     * @param factory Erzeugt das Level
+     */
+    private void loadLevel(Supplier<Level> factory) {
+        if (loading)
+            return;
+        loading = true;
+        progressBar.setValue(0);
+        progressBar.setString("Lade Level ...");
+        progressBar.setVisible(true);
+        revalidate();
+
+        int width = getWidth(), height = getHeight();
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        long start = System.nanoTime();
+
+        new SwingWorker<LevelView, Integer>() {
+            @Override
+            protected LevelView doInBackground() throws Exception {
+                Level level = factory.get();
+                Startup.getInstance().await("Sound"); // Die Level-Ansicht setzt ein fertiges SoundSystem voraus
+
+                java.util.List<Callable<Object>> tasks = new ArrayList<>();
+                for (String path : SpriteAtlas.getInstance().getPaths())
+                    tasks.add(() -> ImageUtil.getMirroredImage(path)); // Lädt auch das Original
+                for (Ground ground : level.getGrounds())
+                    tasks.add(() -> {
+                        ground.getStrip();
+                        return ground.getTopStrip();
+                    });
+                tasks.add(() -> {
+                    SoundUtil.prefetchBackgroundMusic();
+                    return null;
+                });
+                int total = tasks.size() + 2;
+
+                CompletionService<Object> completion = new ExecutorCompletionService<>(loader);
+                for (Callable<Object> task : tasks)
+                    completion.submit(task);
+                for (int i = 1; i <= tasks.size(); i++) {
+                    completion.take().get();
+                    publish(i * 100 / total);
+                }
+
+                // Die Ansicht selbst besteht aus Swing-Komponenten und muss auf dem EDT entstehen
+                LevelView[] levelView = new LevelView[1];
+                SwingUtilities.invokeAndWait(() -> levelView[0] = new LevelView(level));
+                publish((total - 1) * 100 / total);
+                levelView[0].warmUp(width, height, configuration);
+                return levelView[0];
+            }
+
+            @Override
+            protected void process(java.util.List<Integer> chunks) {
+                progressBar.setValue(chunks.get(chunks.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                loading = false;
+                progressBar.setVisible(false);
+                try {
+                    LevelView levelView = get();
+                    System.out.printf("Level vorbereitet in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+                    MainFrame.getInstance().changeTo(levelView);
+                    levelView.setFocusable(true);
+                    levelView.requestFocusInWindow();
+                    new Thread(levelView).start();
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                    // Zurück in die Lobby, die Meldung bleibt stehen, bis ein Level gewählt wird
+                    progressBar.setValue(0);
+                    progressBar.setString("HOPPLA! Das Level konnte nicht geladen werden :/");
+                    progressBar.setVisible(true);
+                    revalidate();
+                    repaint();
+                }
+            }
+        }.execute();
     }
 
     public void refresh() {
@@ -134,11 +236,12 @@ class LobbyView extends AbstractView {
      */
     private Level createLevel1() {
         List<Enemy> enemies = new List<>();
+        List<Cross> crosses = new List<>();
         enemies.add(new Knight(2200, 680, Behavior.GUARD, Direction.RIGHT));
         enemies.add(new Knight(3000, 707, Behavior.PATROL, Direction.RIGHT));
         enemies.add(new Skeleton(4100, 590, Behavior.ATTACK, Direction.RIGHT));
-        enemies.add(new Cross(150, 592));
-        enemies.add(new Cross(4770, 300));
+        crosses.add(new Cross(150, 592));
+        crosses.add(new Cross(4770, 300));
         List<Obstacle> obstacles = new List<>();
         obstacles.add(new Barrel(150, 720));
         obstacles.add(new Crate(1750, 640));
@@ -160,25 +263,26 @@ class LobbyView extends AbstractView {
         grounds.add(new Ground(3700, 400, 100, Ground.Type.GRASS));
         grounds.add(new Ground(4200, 600, 150, Ground.Type.GRAVEL));
         grounds.add(new Ground(4600, 200, 200, Ground.Type.ROCK));
-        return new Level(enemies, obstacles, grounds, "images/backgrounds/background.png",
-                200);
+        return new Level(enemies, obstacles, grounds, crosses, "images/backgrounds/background.png",
+                200, 1);
     }
 
     private Level createLevel2() {
         List<Enemy> enemies = new List<>();
+        List<Cross> crosses = new List<>();
         enemies.add(new Knight(1500, 660, Behavior.ATTACK, Direction.LEFT));
         enemies.add(new Knight(2000, 660, Behavior.ATTACK, Direction.LEFT));
         enemies.add(new Skeleton(2800, 620, Behavior.GUARD, Direction.LEFT));
-        enemies.add(new Cross(3700, 342));
+        crosses.add(new Cross(3700, 342));
         enemies.add(new Skeleton(4500, 440, Behavior.GUARD, Direction.LEFT));
         enemies.add(new Skeleton(4700, 312, Behavior.GUARD, Direction.LEFT));
         enemies.add(new Knight(5900, 650, Behavior.GUARD, Direction.LEFT));
-        enemies.add(new Cross(6600, 342));
+        crosses.add(new Cross(6600, 342));
         enemies.add(new Knight(7300, 650, Behavior.GUARD, Direction.LEFT));
         enemies.add(new Knight(7800, 690, Behavior.GUARD, Direction.LEFT));
-        enemies.add(new Cross(9092, 182));
+        crosses.add(new Cross(9092, 182));
         enemies.add(new Skeleton(9700, 670, Behavior.GUARD, Direction.LEFT));
-        enemies.add(new Cross(10300, 520));
+        crosses.add(new Cross(10300, 520));
         enemies.add(new Skeleton(11800, 430, Behavior.GUARD, Direction.LEFT));
 
         List<Obstacle> obstacles = new List<>();
@@ -245,8 +349,8 @@ class LobbyView extends AbstractView {
         grounds.add(new Ground(11550, 200, 290, Ground.Type.SOIL));
         grounds.add(new Ground(11300, 400, 260, Ground.Type.ROCK));
 
-        return new Level(enemies, obstacles, grounds, "images/backgrounds/background_extended.png",
-                200);
+        return new Level(enemies, obstacles, grounds, crosses, "images/backgrounds/background_extended.png",
+                200, 2);
     }
 
     /*
@@ -255,6 +359,7 @@ class LobbyView extends AbstractView {
     private Level createLevel3() {
         int rnd = ThreadLocalRandom.current().nextInt(1, 6);
         List<Enemy> enemies = new List<>();
+        List<Cross> crosses = new List<>();
         for (int i = rnd; i > 0; i--) {
             if (rnd == 1) {
                 enemies.add(new Knight(800, 700, Behavior.ATTACK, Direction.LEFT));
@@ -277,33 +382,35 @@ class LobbyView extends AbstractView {
         List<Obstacle> obstacles = new List<>();
         List<Ground> grounds = new List<>();
         grounds.add(new Ground(5000, 10000, 20, Ground.Type.SOIL));
-        return new Level(enemies, obstacles, grounds, "images/backgrounds/background3.png",
-                10);
+        return new Level(enemies, obstacles, grounds, crosses, "images/backgrounds/background3.png",
+                10, 3);
     }
 
     private Level createLevel4() {
         List<Enemy> enemies = new List<>();
+        List<Cross> crosses = new List<>();
         enemies.add(new Helper(70, 660, Behavior.ATTACK, Direction.LEFT));
         enemies.add(new Helper(280, 620, Behavior.ATTACK, Direction.LEFT));
         for (int x = 1300; x < 2000; x += 100)
-            enemies.add(new Cross(x, 40));
+            crosses.add(new Cross(x, 40));
         List<Obstacle> obstacles = new List<>();
         List<Ground> grounds = new List<>();
         grounds.add(new Ground(600, 1400, 40, Ground.Type.GRASS));
         grounds.add(new Ground(1600, 1000, 700, Ground.Type.GRASS));
         grounds.add(new Ground(2400, 600, 100, Ground.Type.SOIL));
-        return new Level(enemies, obstacles, grounds, "images/backgrounds/background_extended.png",
-                200);
+        return new Level(enemies, obstacles, grounds, crosses, "images/backgrounds/background_extended.png",
+                200, 4);
     }
 
     private Level createLevel5() {
         List<Enemy> enemies = new List<>();
+        List<Cross> crosses = new List<>();
         enemies.add(new Skeleton(600, 100, Behavior.IDLE, Direction.RIGHT));
         List<Obstacle> obstacles = new List<>();
         List<Ground> grounds = new List<>();
         grounds.add(new Ground(450, 900, 40, Ground.Type.GRASS));
-        return new Level(enemies, obstacles, grounds, "images/backgrounds/background2.jpg",
-                0);
+        return new Level(enemies, obstacles, grounds, crosses, "images/backgrounds/background2.jpg",
+                0, 5);
     }
     */
 }
@@ -1,8 +1,12 @@
 package gui;
 
 import util.Constants;
+import util.HighscoreStore;
 import util.ImageUtil;
+import util.Leaderboard;
+import util.RunTelemetry;
 import util.SoundUtil;
+import util.Startup;
 
 import javax.swing.*;
 import java.awt.*;
@@ -20,14 +24,13 @@ import java.util.Properties;
 public class MainFrame extends JFrame implements WindowListener {
     private static MainFrame instance;
     private AbstractView currentView;
-    private Properties properties;
+    private static Properties properties;
 
     /**
      * Privater Konstruktor, da wir nur genau ein Hauptfenster zur Laufzeit benötigen,
      * das ganz am Anfang in der statischen main()-Methode erzeugt wird
      */
     private MainFrame() {
-        new Thread(SoundUtil::init).start();
         setTitle(Constants.GAME_TITLE + " " + Constants.GAME_VERSION);
         setSize(1024, 768);
         setResizable(false);
@@ -43,10 +46,9 @@ public class MainFrame extends JFrame implements WindowListener {
             e.printStackTrace();
         }
 
-        initProperties();
-
         changeTo(MainMenuView.getInstance());
         setVisible(true);
+        System.out.printf("Fenster sichtbar nach %d ms seit JVM-Start%n", Startup.getUptime());
     }
 
     public static MainFrame getInstance() {
@@ -61,7 +63,22 @@ public class MainFrame extends JFrame implements WindowListener {
      * @param args Irrelevante Kommandozeilenparamter
      */
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(MainFrame::getInstance);
+        Startup startup = Startup.getInstance();
+        startup.phase("Schrift", Constants::registerFont);
+        startup.phase("Einstellungen", MainFrame::initProperties);
+        startup.phase("Menübilder", () -> {
+            ImageUtil.getImage("images/gui/icon.png");
+            ImageUtil.getImage(Constants.MENU_BACKGROUND);
+            ImageUtil.getImage(Constants.MENU_BACKGROUND_2);
+        });
+        startup.phase("Sound", SoundUtil::init);
+        // Das Backend muss feststehen, bevor irgendeine Ansicht nach den Highscores fragt
+        startup.phase("Highscore-Store", () -> {
+            Leaderboard.getInstance().setStore(HighscoreStore.create(properties.getProperty(Constants.PROPERTY_HIGHSCORE_STORE)));
+            Leaderboard.getInstance().load();
+        }, "Einstellungen");
+        startup.phase("Datenbank", () -> Leaderboard.getInstance().load().join(), "Highscore-Store");
+        startup.phaseOnEdt("Fenster", MainFrame::getInstance, "Schrift", "Einstellungen", "Menübilder", "Highscore-Store");
     }
 
     /**
@@ -82,7 +99,7 @@ public class MainFrame extends JFrame implements WindowListener {
         currentView.repaint();
     }
 
-    public void initProperties() {
+    private static void initProperties() {
         properties = new Properties();
 
         try (FileReader reader = new FileReader("settings.properties")) {
@@ -106,6 +123,8 @@ public class MainFrame extends JFrame implements WindowListener {
      */
     void cleanupAndExit() {
         //SoundUtil.soundSystem.cleanup();
+        Leaderboard.getInstance().close();
+        RunTelemetry.getInstance().close();
         System.exit(0);
     }
 
@@ -1,48 +1,118 @@
 package gui;
 
+import logic.ParticleSystem;
+import logic.ProjectileSystem;
+import logic.SpatialIndex;
 import model.*;
+import util.AudioService;
 import util.Constants;
-import util.ImageUtil;
+import util.EventBus;
+import util.RunTelemetry;
+import util.SpriteAtlas;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
 
 class Renderer {
     private final int HEALTH_BAR_HEIGHT = 5;
+    private final int CULLING_MARGIN = 200; // Sprites und Waffen ragen seitlich über die Hitbox hinaus
 
     private final Level level;
     private final Camera camera;
     private final Player player;
     private final KeyHandler keyHandler;
+    private final ProjectileSystem projectiles;
+    private final ParticleSystem particles;
     private final LevelView view;
     private final Stroke strichel;
     private final Color staminaBlue;
+    private final BackgroundTiles background;
+    private final SpriteAtlas atlas = SpriteAtlas.getInstance();
 
-    Renderer(Level level, Camera camera, Player player, KeyHandler keyHandler, LevelView view) {
+    // Nach x sortiert, damit nur das gezeichnet wird, was die Kamera sieht
+    private final SpatialIndex<Ground> grounds = new SpatialIndex<>();
+    private final SpatialIndex<Obstacle> obstacles = new SpatialIndex<>();
+    private final SpatialIndex<Cross> crosses = new SpatialIndex<>();
+    private SpatialIndex<Enemy> enemies; // Index des aktuellen Frames, siehe publishEnemies
+    private double visibleLeft, visibleRight; // Sichtbarer Bereich inklusive Rand
+
+    // Gegnerindex in drei Puffern: Der Update-Thread füllt back und tauscht ihn gegen ready, der EDT tauscht
+    // ready gegen front, sobald dort ein neuerer liegt. So gehört jeder Puffer immer genau einem Thread.
+    private static class EnemyIndex {
+        final SpatialIndex<Enemy> index = new SpatialIndex<>();
+        volatile long generation; // Nummer des Updates, nach dem der Index gebaut wurde
+    }
+
+    private EnemyIndex frontEnemies = new EnemyIndex(); // Nur EDT
+    private final AtomicReference<EnemyIndex> readyEnemies = new AtomicReference<>(new EnemyIndex());
+    private EnemyIndex backEnemies = new EnemyIndex(); // Nur Update-Thread
+    private long enemyGeneration;
+    private int drawn, culled; // Statistik des aktuellen Frames für den Debug-Screen
+
+    // Auswertung der bisherigen Durchläufe dieses Levels für den Debug-Screen, siehe warmUp
+    private static final int HEATMAP_BUCKET = 200; // px
+    private double meanScore = Double.NaN;
+    private int deadliestX = -1; // Beginn des Abschnitts mit den meisten Toden, -1 falls noch niemand starb
+
+    // Punkte-Einblendungen über getöteten Gegnern und Kreuzen, aus den Ereignissen des Levels.
+    // Der Update-Thread schreibt sie (siehe pollEvents), der EDT liest sie nur; popupStart veröffentlicht den Platz.
+    private static final int POPUPS = 16;
+    private static final long POPUP_DURATION = 1_000_000_000L; // ns
+    private final EventBus.Consumer events;
+    private final EventBus.Handler eventHandler = this::onEvent;
+    private final double[] popupX = new double[POPUPS], popupY = new double[POPUPS];
+    private final int[] popupValue = new int[POPUPS];
+    private final AtomicLongArray popupStart = new AtomicLongArray(POPUPS); // 0 falls frei
+    private int nextPopup; // Nur vom Update-Thread benutzt
+
+    // Sprites der Projektile, nach Art
+    private final int[] projectileSprites = {
+            atlas.register("images/arrow/arrow_stock_0.66.png"),
+            atlas.register("images/arrow/arrow_fire_0.66.png"),
+            atlas.register("images/spear/spear.png")};
+    private final int[] bowSprites = {
+            atlas.register("images/bow/bow_stage1_0.66.png"),
+            atlas.register("images/bow/bow_stage2_0.66.png"),
+            atlas.register("images/bow/bow_stage3_0.66.png"),
+            atlas.register("images/bow/bow_stage4_0.66.png")};
+
+    // Zeichenfläche der Partikel, wird wiederverwendet, solange sich die Größe der Ansicht nicht ändert
+    private BufferedImage particleRaster;
+    private int[] particlePixels;
+    private final int[] particleBounds = new int[4]; // Zuletzt beschriebener Bereich, siehe ParticleSystem.rasterize
+
+    Renderer(Level level, Camera camera, Player player, KeyHandler keyHandler, ProjectileSystem projectiles,
+             ParticleSystem particles, LevelView view) {
         this.level = level;
         this.camera = camera;
         this.player = player;
         this.keyHandler = keyHandler;
+        this.projectiles = projectiles;
+        this.particles = particles;
         this.view = view;
+        events = level.getWorld().getEvents().subscribe();
         strichel = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{9}, 0);
         staminaBlue = new Color(0, 130, 232);
+        background = new BackgroundTiles(level.getBackgroundFilePath(), view);
+        // Böden und Hindernisse bewegen sich nicht und werden nur einmal einsortiert
+        grounds.rebuild(level.getGrounds());
+        obstacles.rebuild(level.getObstacles());
+        crosses.rebuild(level.getCrosses());
+        enemies = frontEnemies.index;
+        publishEnemies();
     }
 
     void drawPlayer(Graphics2D g2) {
-        try {
-            BufferedImage image;
-            image = ImageUtil.getImage(player.getImagePath());
-            int playerX = (int) (player.getX() - image.getWidth() / 2 - camera.getX());
-            int playerY = (int) (player.getY() - image.getHeight());
-            if (player.getViewingDirection().equals(Direction.RIGHT))
-                g2.drawImage(image, playerX, playerY, image.getWidth(), image.getHeight(), null);
-            else
-                g2.drawImage(image, playerX + image.getWidth(), playerY, -image.getWidth(), image.getHeight(), null);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        int sprite = player.getSpriteHandle();
+        int playerX = (int) (player.getX() - atlas.getWidth(sprite) / 2 - camera.getX());
+        int playerY = (int) (player.getY() - atlas.getHeight(sprite));
+        atlas.draw(g2, sprite, playerX, playerY, !player.getViewingDirection().equals(Direction.RIGHT));
 
         Color backup = g2.getColor();
         g2.setColor(Color.GREEN);
@@ -69,140 +139,284 @@ class Renderer {
     }
 
     void drawSword(Graphics2D g2) {
-        try {
-            BufferedImage image = ImageUtil.getImage("images/sword/sword_giant.png");
-            if (keyHandler.strike && !player.isExhausted()) {
-                image = ImageUtil.getImage("images/sword/sword_giant_strike.png");
-            }
+        int sprite = player.getSwordSpriteHandle(keyHandler.strike && !player.isExhausted());
+        if (player.getViewingDirection().equals(Direction.RIGHT)) {
+            atlas.draw(g2, sprite, (int) (player.getSword().getX() - camera.getX()), (int) player.getSword().getY(), false);
+        } else {
+            // Gespiegelt liegt das Schwert am rechten Rand der Schwert-Hitbox an
+            atlas.draw(g2, sprite, (int) (player.getSword().getX() + player.getSword().getWidth() - camera.getX()) - atlas.getWidth(sprite),
+                    (int) player.getSword().getY(), true);
+        }
+        if (keyHandler.debug) {
+            Stroke originalStroke = g2.getStroke();
+            g2.setStroke(strichel);
+            Rectangle2D.Double rect = new Rectangle2D.Double(player.getSword().getX() - camera.getX(),
+                    player.getSword().getY(), player.getSword().getWidth(), player.getSword().getHeight());
+            g2.draw(rect);
+            g2.setStroke(originalStroke);
+        }
+    }
 
-            if (player.getViewingDirection().equals(Direction.RIGHT)) {
-                g2.drawImage(image, (int) (player.getSword().getX() - camera.getX()), (int) player.getSword().getY(), null);
-            } else {
-                g2.drawImage(image, (int) (player.getSword().getX() + player.getSword().getWidth() - camera.getX()),
-                        (int) player.getSword().getY(),
-                        -image.getWidth(), image.getHeight(), null);
-            }
-            if (keyHandler.debug) {
-                Stroke originalStroke = g2.getStroke();
-                g2.setStroke(strichel);
-                Rectangle2D.Double rect = new Rectangle2D.Double(player.getSword().getX() - camera.getX(),
-                        player.getSword().getY(), player.getSword().getWidth(), player.getSword().getHeight());
-                g2.draw(rect);
-                g2.setStroke(originalStroke);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+    /**
+     * Zeichnet den gespannten Bogen vor dem Spieler; die Stufe wächst mit der Spannzeit
+     */
+    void drawBow(Graphics2D g2) {
+        int stage = Math.min(bowSprites.length - 1, player.getBowCharge() * bowSprites.length / Constants.BOW_CHARGE_TIME);
+        int sprite = bowSprites[stage];
+        boolean right = player.getViewingDirection().equals(Direction.RIGHT);
+        Rectangle2D.Double hitbox = player.getHitbox();
+        int x = (int) (player.getX() + (right ? 20 : -20) - atlas.getWidth(sprite) / 2 - camera.getX());
+        int y = (int) (hitbox.y + hitbox.height * 0.4 - atlas.getHeight(sprite) / 2);
+        atlas.draw(g2, sprite, x, y, !right);
+    }
+
+    /**
+     * Zeichnet die sichtbaren Pfeile und Speere direkt aus den Feldern des ProjectileSystem
+     */
+    void drawProjectiles(Graphics2D g2) {
+        int count = 0, total = projectiles.getCount();
+        for (int i = 0; i < total; i++) {
+            double x = projectiles.getX(i);
+            if (x < visibleLeft || x > visibleRight)
+                continue;
+            count++;
+            int sprite = projectileSprites[projectiles.getKind(i)];
+            atlas.draw(g2, sprite, (int) (x - atlas.getWidth(sprite) / 2 - camera.getX()),
+                    (int) (projectiles.getY(i) - atlas.getHeight(sprite) / 2), projectiles.getVelocityX(i) < 0);
         }
+        count(count, total);
     }
 
-    void drawBackground(Graphics2D g2) {
-        try {
-            BufferedImage image = ImageUtil.getImage(level.getBackgroundFilePath());
+    /**
+     * Zeichnet alle Partikel auf einmal: Das ParticleSystem schreibt sie direkt in die Pixel einer
+     * wiederverwendeten Fläche, die dann mit einem einzigen drawImage erscheint
+     */
+    void drawParticles(Graphics2D g2) {
+        if (particles.getCount() == 0)
+            return;
+        int width = view.getWidth(), height = view.getHeight();
+        if (width <= 0 || height <= 0)
+            return;
+        if (particleRaster == null || particleRaster.getWidth() != width || particleRaster.getHeight() != height) {
+            particleRaster = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            particlePixels = ((DataBufferInt) particleRaster.getRaster().getDataBuffer()).getData();
+        } else {
+            // Nur den Bereich des letzten Frames leeren
+            int[] b = particleBounds;
+            for (int row = b[1]; row < b[3]; row++)
+                Arrays.fill(particlePixels, row * width + b[0], row * width + b[2], 0);
+        }
+        int drawn = particles.rasterize(particlePixels, width, height, camera.getX(), particleBounds);
+        int[] b = particleBounds;
+        if (drawn > 0)
+            g2.drawImage(particleRaster, b[0], b[1], b[2], b[3], b[0], b[1], b[2], b[3], null);
+        count(drawn, particles.getCount());
+    }
 
-            double k = view.getHeight() / (double) image.getHeight(); // Skalierungsfaktor
-            int width = (int) (k * image.getWidth());
-            int height = view.getHeight();
+    /**
+     * Bereitet alles vor, was sonst im ersten Frame passieren würde; darf außerhalb des EDT laufen
+     *
+     * @param width         Breite, mit der die Ansicht angezeigt werden wird
+     * @param height        Höhe, mit der die Ansicht angezeigt werden wird
+     * @param configuration Grafikkonfiguration des Bildschirms
+     */
+    void warmUp(int width, int height, GraphicsConfiguration configuration) {
+        atlas.pack(); // Alle Sprites des Levels sind angemeldet, also jetzt statt im ersten Frame packen
+        background.warmUp((int) camera.getX(), width, height, configuration);
+        readTelemetry();
+    }
 
-            g2.drawImage(image, -(int) camera.getX(), 0, width, height, null);
+    /**
+     * Wertet die Telemetrie dieses Levels für das Balancing aus: durchschnittlicher Score und der Abschnitt,
+     * in dem die meisten Spieler sterben
+     */
+    private void readTelemetry() {
+        int number = level.getNumber();
+        if (number < 1)
+            return;
+        try {
+            RunTelemetry telemetry = RunTelemetry.getInstance();
+            meanScore = telemetry.meanScorePerLevel(number)[number - 1];
+            int[] heatmap = telemetry.deathHeatmap(number, HEATMAP_BUCKET, level.getLength());
+            int deadliest = 0;
+            for (int i = 1; i < heatmap.length; i++)
+                if (heatmap[i] > heatmap[deadliest])
+                    deadliest = i;
+            deadliestX = heatmap.length > 0 && heatmap[deadliest] > 0 ? deadliest * HEATMAP_BUCKET : -1;
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Sortiert die Gegner nach ihrer Bewegung neu ein und reicht den Index an den EDT weiter. Läuft einmal pro
+     * Update auf dem Update-Thread, der die Gegnerliste ändert und ohnehin über alle Gegner läuft; ein Frame
+     * übernimmt dann nur noch den fertigen Index und sucht darin binär den sichtbaren Bereich.
+     */
+    void publishEnemies() {
+        EnemyIndex back = backEnemies;
+        back.index.rebuild(level.getEnemies());
+        back.generation = ++enemyGeneration;
+        backEnemies = readyEnemies.getAndSet(back);
+    }
+
+    /**
+     * Bestimmt den sichtbaren Bereich und übernimmt den neuesten Gegnerindex;
+     * muss vor allen anderen draw-Methoden eines Frames aufgerufen werden
+     */
+    void beginFrame() {
+        visibleLeft = camera.getX() - CULLING_MARGIN;
+        visibleRight = camera.getX() + view.getWidth() + CULLING_MARGIN;
+        if (readyEnemies.get().generation > frontEnemies.generation) {
+            frontEnemies = readyEnemies.getAndSet(frontEnemies);
+            enemies = frontEnemies.index;
+        }
+        drawn = culled = 0;
+    }
+
+    void drawBackground(Graphics2D g2) {
+        background.draw(g2, (int) camera.getX(), view.getWidth(), view.getHeight());
+    }
+
     void drawGrounds(Graphics2D g2) {
-        for (Ground ground : level.getGrounds()) {
-            Rectangle2D.Double rectangle = new Rectangle2D.Double(ground.getHitbox().getX() - camera.getX(),
-                    ground.getHitbox().getY(), ground.getHitbox().getWidth(), ground.getHitbox().getHeight());
-            g2.drawImage(ground.getImage(), (int) rectangle.getX(), (int) rectangle.getY(), null);
+        int count = 0;
+        for (int i = grounds.first(visibleLeft); i < grounds.size() && grounds.getMinX(i) <= visibleRight; i++) {
+            if (grounds.getMaxX(i) < visibleLeft)
+                continue;
+            Ground ground = grounds.get(i);
+            Rectangle2D.Double hitbox = ground.getHitbox();
+            int x = (int) (hitbox.x - camera.getX()), y = (int) hitbox.y;
+            drawGround(g2, ground, x, y, (int) hitbox.width, (int) hitbox.height);
             if (keyHandler.debug) {
                 Stroke originalStroke = g2.getStroke();
                 g2.setStroke(strichel);
-                g2.draw(rectangle);
+                g2.drawRect(x, y, (int) hitbox.width, (int) hitbox.height);
                 g2.setStroke(originalStroke);
             }
+            count++;
+        }
+        count(count, grounds.size());
+    }
+
+    /**
+     * Setzt einen Boden aus den gemeinsamen Texturstreifen zusammen; die Kacheln beginnen wie früher
+     * an der linken oberen Ecke des Bodens, Streifen außerhalb der Ansicht werden übersprungen
+     */
+    private void drawGround(Graphics2D g2, Ground ground, int x, int y, int width, int height) {
+        int first = Math.max(0, Math.floorDiv(-x, Ground.STRIP_WIDTH) * Ground.STRIP_WIDTH);
+        int last = Math.min(width, view.getWidth() - x);
+        for (int tileY = 0; tileY < height; tileY += Ground.TILE_SIZE) {
+            BufferedImage strip = tileY == 0 ? ground.getTopStrip() : ground.getStrip();
+            int tileHeight = Math.min(Ground.TILE_SIZE, height - tileY);
+            for (int tileX = first; tileX < last; tileX += Ground.STRIP_WIDTH) {
+                int tileWidth = Math.min(Ground.STRIP_WIDTH, width - tileX);
+                g2.drawImage(strip, x + tileX, y + tileY, x + tileX + tileWidth, y + tileY + tileHeight,
+                        0, 0, tileWidth, tileHeight, null);
+            }
         }
     }
 
     void drawEnemies(Graphics2D g2) {
-        for (Enemy enemy : level.getEnemies()) {
-            try {
-                {
-                    BufferedImage image;
-                    image = ImageUtil.getImage(enemy.getImagePath());
-                    int x = (int) (enemy.getX() - image.getWidth() / 2 - camera.getX());
-                    int y = (int) (enemy.getY() - image.getHeight());
-                    if (enemy.getViewingDirection().equals(Direction.RIGHT))
-                        g2.drawImage(image, x, y, image.getWidth(), image.getHeight(), null);
-                    else
-                        g2.drawImage(image, x + image.getWidth(), y, -image.getWidth(), image.getHeight(), null);
-                }
+        int count = 0;
+        for (int i = enemies.first(visibleLeft); i < enemies.size() && enemies.getMinX(i) <= visibleRight; i++) {
+            if (enemies.getMaxX(i) < visibleLeft)
+                continue;
+            Enemy enemy = enemies.get(i);
+            count++;
+            {
+                int sprite = enemy.getSpriteHandle();
+                int x = (int) (enemy.getX() - atlas.getWidth(sprite) / 2 - camera.getX());
+                int y = (int) (enemy.getY() - atlas.getHeight(sprite));
+                atlas.draw(g2, sprite, x, y, !enemy.getViewingDirection().equals(Direction.RIGHT));
+            }
 
-                {
-                    if (enemy.paintHealth()) {
-                        Color backup = g2.getColor();
-                        g2.setColor(Color.GREEN);
-                        int x = (int) (enemy.getHitbox().getX() - camera.getX());
-                        int y = (int) (enemy.getHitbox().getY() - HEALTH_BAR_HEIGHT - 5);
-                        g2.fillRect(x, y, (int) ((double) enemy.getHealth() / enemy.getMaxHealth() * enemy.getHitbox().getWidth()), HEALTH_BAR_HEIGHT);
-                        g2.setColor(Color.BLACK);
-                        g2.drawRect(x, y, (int) enemy.getHitbox().getWidth(), HEALTH_BAR_HEIGHT);
-                        g2.setColor(backup);
-                    }
+            {
+                if (enemy.paintHealth()) {
+                    Color backup = g2.getColor();
+                    g2.setColor(Color.GREEN);
+                    int x = (int) (enemy.getHitbox().getX() - camera.getX());
+                    int y = (int) (enemy.getHitbox().getY() - HEALTH_BAR_HEIGHT - 5);
+                    g2.fillRect(x, y, (int) ((double) enemy.getHealth() / enemy.getMaxHealth() * enemy.getHitbox().getWidth()), HEALTH_BAR_HEIGHT);
+                    g2.setColor(Color.BLACK);
+                    g2.drawRect(x, y, (int) enemy.getHitbox().getWidth(), HEALTH_BAR_HEIGHT);
+                    g2.setColor(backup);
                 }
+            }
 
-                if (keyHandler.debug) {
-                    Stroke originalStroke = g2.getStroke();
-                    g2.setStroke(strichel);
-                    Rectangle2D.Double rect = new Rectangle2D.Double(enemy.getHitbox().getX() - camera.getX(),
-                            enemy.getHitbox().getY(), enemy.getHitbox().getWidth(), enemy.getHitbox().getHeight());
-                    g2.draw(rect);
-                    g2.setStroke(originalStroke);
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
+            if (keyHandler.debug) {
+                Stroke originalStroke = g2.getStroke();
+                g2.setStroke(strichel);
+                Rectangle2D.Double rect = new Rectangle2D.Double(enemy.getHitbox().getX() - camera.getX(),
+                        enemy.getHitbox().getY(), enemy.getHitbox().getWidth(), enemy.getHitbox().getHeight());
+                g2.draw(rect);
+                g2.setStroke(originalStroke);
             }
         }
+        count(count, enemies.size());
     }
 
-    void drawEnemySwords(Graphics2D g2) {
-        for (Enemy enemy : level.getEnemies()) {
-            if (enemy.hasSword()) {
-                try {
-                    BufferedImage image = ImageUtil.getImage(enemy.getWeaponImagePath(enemy.isAttacking()));
+    void drawCrosses(Graphics2D g2) {
+        int count = 0;
+        for (int i = crosses.first(visibleLeft); i < crosses.size() && crosses.getMinX(i) <= visibleRight; i++) {
+            Cross cross = crosses.get(i);
+            if (crosses.getMaxX(i) < visibleLeft || cross.isCollected())
+                continue;
+            count++;
+            int sprite = cross.getSpriteHandle();
+            int x = (int) (cross.getX() - atlas.getWidth(sprite) / 2 - camera.getX());
+            int y = (int) (cross.getY() - atlas.getHeight(sprite));
+            atlas.draw(g2, sprite, x, y, false);
 
-                    int x = (int) (enemy.getWeapon().getX() - camera.getX()); // - image.getWidth() / 2
-                    int y = (int) (enemy.getWeapon().getY());
+            if (keyHandler.debug) {
+                Stroke originalStroke = g2.getStroke();
+                g2.setStroke(strichel);
+                Rectangle2D.Double hitbox = cross.getHitbox();
+                g2.drawRect((int) (hitbox.x - camera.getX()), (int) hitbox.y, (int) hitbox.width, (int) hitbox.height);
+                g2.setStroke(originalStroke);
+            }
+        }
+        count(count, crosses.size() - player.getCrosses()); // Eingesammelte sind nicht ausgeblendet
+    }
 
-                    if (enemy.getViewingDirection().equals(Direction.RIGHT))
-                        g2.drawImage(image, x, y, image.getWidth(), image.getHeight(), null);
-                    else
-                        g2.drawImage(image, x + image.getWidth(), y, -image.getWidth(), image.getHeight(), null);
+    void drawEnemySwords(Graphics2D g2) {
+        for (int i = enemies.first(visibleLeft); i < enemies.size() && enemies.getMinX(i) <= visibleRight; i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemies.getMaxX(i) >= visibleLeft && enemy.hasSword()) {
+                int x = (int) (enemy.getWeapon().getX() - camera.getX()); // - image.getWidth() / 2
+                int y = (int) (enemy.getWeapon().getY());
 
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                atlas.draw(g2, enemy.getWeaponSpriteHandle(enemy.isAttacking()), x, y,
+                        !enemy.getViewingDirection().equals(Direction.RIGHT));
             }
         }
     }
 
     void drawObstacles(Graphics2D g2) {
-        for (Obstacle obstacle : level.getObstacles()) {
-            try {
-                BufferedImage image = ImageUtil.getImage(obstacle.getImagePath());
-                int x = (int) (obstacle.getX() - image.getWidth() / 2 - camera.getX());
-                int y = (int) (obstacle.getY() - image.getHeight());
-                g2.drawImage(image, x, y, image.getWidth(), image.getHeight(), null);
-
-                if (keyHandler.debug) {
-                    Stroke originalStroke = g2.getStroke();
-                    g2.setStroke(strichel);
-                    g2.drawRect(x, y, image.getWidth(), image.getHeight());
-                    g2.setStroke(originalStroke);
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
+        int count = 0;
+        for (int i = obstacles.first(visibleLeft); i < obstacles.size() && obstacles.getMinX(i) <= visibleRight; i++) {
+            if (obstacles.getMaxX(i) < visibleLeft)
+                continue;
+            Obstacle obstacle = obstacles.get(i);
+            count++;
+            int sprite = obstacle.getSpriteHandle();
+            int width = atlas.getWidth(sprite), height = atlas.getHeight(sprite);
+            int x = (int) (obstacle.getX() - width / 2 - camera.getX());
+            int y = (int) (obstacle.getY() - height);
+            atlas.draw(g2, sprite, x, y, false);
+
+            if (keyHandler.debug) {
+                Stroke originalStroke = g2.getStroke();
+                g2.setStroke(strichel);
+                g2.drawRect(x, y, width, height);
+                g2.setStroke(originalStroke);
             }
         }
+        count(count, obstacles.size());
+    }
+
+    private void count(int drawn, int total) {
+        this.drawn += drawn;
+        culled += total - drawn;
     }
 
     void drawStaminaBar(Graphics2D g2) {
@@ -232,12 +446,65 @@ class Renderer {
         g2.setFont(backup);
     }
 
+    private void onEvent(int type, int value, double x, double y, boolean player) {
+        if ((type == EventBus.DEATH || type == EventBus.PICKUP) && value > 0) {
+            popupX[nextPopup] = x;
+            popupY[nextPopup] = y;
+            popupValue[nextPopup] = value;
+            popupStart.set(nextPopup, System.nanoTime());
+            nextPopup = (nextPopup + 1) % POPUPS; // Sind alle belegt, verdrängt die neue die älteste
+        }
+    }
+
+    /**
+     * Holt die Ereignisse seit dem letzten Update ab und legt daraus Punkte-Einblendungen an. Läuft auf dem
+     * Update-Thread, damit ein minimiertes Fenster, das nicht mehr zeichnet, den EventBus nicht aufhält.
+     */
+    void pollEvents() {
+        events.poll(eventHandler);
+    }
+
+    /**
+     * Zeichnet die Punkte-Einblendungen, die langsam aufsteigen und nach POPUP_DURATION verschwinden
+     */
+    void drawPopups(Graphics2D g2) {
+        long now = System.nanoTime();
+        Font backup = g2.getFont();
+        g2.setFont(Constants.DEFAULT_FONT.deriveFont(Font.BOLD, 20f));
+        g2.setColor(Color.YELLOW);
+        for (int i = 0; i < POPUPS; i++) {
+            long start = popupStart.get(i);
+            long age = now - start;
+            if (start == 0 || age > POPUP_DURATION)
+                continue;
+            String s = "+" + popupValue[i];
+            int x = (int) (popupX[i] - camera.getX()) - g2.getFontMetrics().stringWidth(s) / 2;
+            int y = (int) (popupY[i] - 10 - 40 * age / POPUP_DURATION);
+            g2.drawString(s, x, y);
+        }
+        g2.setFont(backup);
+    }
+
     void drawDebugScreen(Graphics2D g2) {
         String s = Constants.GAME_TITLE + " " + Constants.GAME_VERSION;
         g2.drawString(s, view.getWidth() / 2 - g2.getFontMetrics().stringWidth(s) / 2, 20);
 
-        String perfData = view.getUps() + "\u2009u/s, " + view.getFps() + "\u2009fps";
+        String perfData = view.getUps() + "\u2009u/s, " + view.getFps() + "\u2009fps, "
+                + String.format("%.2f", view.getFrameTime()) + "\u2009ms/frame";
         g2.drawString(perfData, view.getWidth() - g2.getFontMetrics().stringWidth(perfData) - 20, 20);
+        String cullingData = drawn + " gezeichnet, " + culled + " ausgeblendet";
+        g2.drawString(cullingData, view.getWidth() - g2.getFontMetrics().stringWidth(cullingData) - 20, 40);
+        AudioService audio = AudioService.getInstance();
+        String audioData = "Audio: " + audio.getRequested() + " angefordert, " + audio.getMerged() + " zusammengefasst, "
+                + audio.getPlayed() + " gespielt, " + audio.getStolen() + " gestohlen, " + audio.getDropped() + " verworfen";
+        g2.drawString(audioData, view.getWidth() - g2.getFontMetrics().stringWidth(audioData) - 20, 60);
+        String eventData = "Ereignisse: " + level.getWorld().getEvents().getDropped() + " verworfen, Projektile: "
+                + projectiles.getCount() + " fliegend, " + projectiles.getDropped() + " verworfen, Partikel: "
+                + particles.getCount() + "/" + particles.getBudget() + ", " + particles.getDropped() + " verworfen";
+        g2.drawString(eventData, view.getWidth() - g2.getFontMetrics().stringWidth(eventData) - 20, 80);
+        String telemetryData = "Telemetrie: \u00D8 Score " + (Double.isNaN(meanScore) ? "-" : String.format("%.0f", meanScore))
+                + ", die meisten Tode bei x = " + (deadliestX < 0 ? "-" : deadliestX + "\u2009-\u2009" + (deadliestX + HEATMAP_BUCKET));
+        g2.drawString(telemetryData, view.getWidth() - g2.getFontMetrics().stringWidth(telemetryData) - 20, 100);
 
         g2.drawString("@(" + player.getX() + "," + player.getY() + ")", 20, 20);
         g2.drawString("velocityX = " + player.getVelocityX(), 20, 40);
@@ -91,7 +91,8 @@ public class SettingsView extends AbstractView {
         //Einstellungen aus Properties holen
         try {
             musicVolume = Float.parseFloat(MainFrame.getInstance().getProperties().getProperty(Constants.PROPERTY_MUSIC_VOLUME));
-            SoundUtil.soundSystem.setVolume(SoundUtil.MUSIC_SOURCE, musicVolume);
+            if (SoundUtil.soundSystem != null) // Sonst setzt der Musikstart die Lautstärke
+                SoundUtil.soundSystem.setVolume(SoundUtil.MUSIC_SOURCE, musicVolume);
         } catch (Exception e) {
             System.err.println("Error whilst setting music volume");
             e.printStackTrace();
@@ -282,6 +283,18 @@ public class SettingsView extends AbstractView {
         b25.setForeground(c);
         settingsPanel.add(b25, constraints);
 
+        constraints.gridwidth = GridBagConstraints.RELATIVE;
+        JLabel b16 = new JLabel("[F] Schießen");
+        b16.setFont(f);
+        b16.setForeground(c);
+        settingsPanel.add(b16, constraints);
+
+        constraints.gridwidth = GridBagConstraints.REMAINDER;
+        JLabel b26 = new JLabel("[CTRL] Schießen");
+        b26.setFont(f);
+        b26.setForeground(c);
+        settingsPanel.add(b26, constraints);
+
 
         add(settingsPanel, BorderLayout.CENTER);
     }
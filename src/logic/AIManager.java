@@ -6,157 +6,134 @@ import util.Constants;
 import static logic.Behavior.ATTACK;
 
 public class AIManager {
+    private static final Behavior[] BEHAVIORS = Behavior.values();
+    private static final int LEFT = Direction.LEFT.ordinal(), RIGHT = Direction.RIGHT.ordinal();
+
     final CollisionHandler collisionHandler;
+    private final ProjectileSystem projectiles;
     private int patrolCount;
 
-    public AIManager(CollisionHandler collisionHandler) {
+    public AIManager(CollisionHandler collisionHandler, ProjectileSystem projectiles) {
         this.collisionHandler = collisionHandler;
+        this.projectiles = projectiles;
         patrolCount = 0;
     }
 
+    /**
+     * KI-System: läuft über alle Gegner in den Komponentenfeldern der World und entscheidet über
+     * Blickrichtung, Geschwindigkeit und Angriffe. Bewegt werden die Gegner danach von LawMaster.move.
+     *
+     * @param level  Das aktuelle Level
+     * @param player Der Spieler
+     */
     public void handleAI(Level level, Player player) {
-        for (Enemy enemy : level.getEnemies()) {
-            if (enemy.isDead()) {
-                level.getEnemies().remove(enemy);
+        World world = level.getWorld();
+        int p = player.getId(); // Entfernt wird erst in World.applyRemovals, die Ids bleiben also stehen
+        for (int i = 0; i < world.size(); i++) {
+            if (i == p)
+                continue;
+            Enemy enemy = (Enemy) world.get(i);
+            if (world.health[i] <= 0 || world.y[i] > 1000) {
+                level.remove(enemy);
                 continue;
             }
 
-            switch (enemy.getBehavior()) {
+            double px = world.x[p], py = world.y[p];
+            double ex = world.x[i], ey = world.y[i];
+            switch (BEHAVIORS[world.behavior[i]]) {
                 case GUARD:
-                    switch (enemy.getViewingDirection()) {
-                        case LEFT:
-                            if (player.getX() < enemy.getX()) {
-                                if (distance(player, enemy) < enemy.getViewingRange()) {
-                                    if (Math.abs(player.getY() - enemy.getY()) < (enemy.getHitbox().getHeight() / 2) + (player.getHitbox().getHeight() / 2)) {
-                                        if (nearestViewblocker(enemy, level).getX() < player.getX()) {
-                                            enemy.setBehavior(ATTACK);
-                                        }
-                                    }
-                                }
-                            }
-                            break;
-                        case RIGHT:
-                            if (player.getX() > enemy.getX()) {
-                                if (distance(player, enemy) < enemy.getViewingRange()) {
-                                    if (Math.abs(player.getY() - enemy.getY()) < (enemy.getHitbox().getHeight() / 2) + (player.getHitbox().getHeight() / 2)) {
-                                        if (nearestViewblocker(enemy, level).getX() > player.getX()) {
-                                            enemy.setBehavior(ATTACK);
-                                        }
-                                    }
+                    boolean left = world.direction[i] == LEFT;
+                    if (left ? px < ex : px > ex) {
+                        if (distance(world, p, i) < world.viewingRange[i]) {
+                            if (Math.abs(py - ey) < (world.height[i] / 2) + (world.height[p] / 2)) {
+                                double blocker = nearestViewblocker(world, i, level);
+                                if (left ? blocker < px : blocker > px) {
+                                    world.behavior[i] = ATTACK.ordinal();
                                 }
                             }
-                            break;
+                        }
                     }
-                    if (touch(enemy, player))
-                        enemy.setBehavior(ATTACK);
+                    if (touch(world, i, p))
+                        world.behavior[i] = ATTACK.ordinal();
                     break;
                 case ATTACK:
-                    //System.out.println("Ich bin AGRESSIV");
-                    if (distance(player, enemy) < enemy.getAttackRange()) {
-                        /*if (player.getX() < enemy.getX()) {
-                            enemy.setViewingDirection(Direction.LEFT);
-                        } else {
-                            enemy.setViewingDirection(Direction.RIGHT);
-                        }*/
-                        attack(enemy, player);
+                    if (distance(world, p, i) < world.attackRange[i]) {
+                        attack(world, i, player);
+                    } else if (enemy.getProjectile() != ProjectileSystem.NONE && distance(world, p, i) < world.viewingRange[i]) {
+                        shoot(world, i, p, enemy.getProjectile());
                     }
-                    if (Math.abs(player.getX() - enemy.getX()) < 6) {
-                        enemy.setVelocityX(0);
-                    } else if (player.getX() < enemy.getX()) {
-                        enemy.setViewingDirection(Direction.LEFT);
-                        moveLeft(enemy);
-                    } else if (player.getX() > enemy.getX()) {
-                        enemy.setViewingDirection(Direction.RIGHT);
-                        moveRight(enemy);
+                    if (Math.abs(px - ex) < 6) {
+                        world.velocityX[i] = 0;
+                    } else if (px < ex) {
+                        world.direction[i] = LEFT;
+                        moveLeft(world, i);
+                    } else if (px > ex) {
+                        world.direction[i] = RIGHT;
+                        moveRight(world, i);
                     }
 
                     break;
                 case IDLE:
-                    //System.out.println("Ich warte");
-                    if (distance(player, enemy) < enemy.getAttackRange()) {
-                        if (player.getX() < enemy.getX()) {
-                            enemy.setViewingDirection(Direction.LEFT);
-                        } else {
-                            enemy.setViewingDirection(Direction.RIGHT);
-                        }
-                        attack(enemy, player);
+                    if (distance(world, p, i) < world.attackRange[i]) {
+                        world.direction[i] = px < ex ? LEFT : RIGHT;
+                        attack(world, i, player);
                     }
                     break;
                 case PATROL:
                     if (patrolCount > 200) {
-                        if (enemy.getViewingDirection().equals(Direction.LEFT))
-                            enemy.setViewingDirection(Direction.RIGHT);
-                        else
-                            enemy.setViewingDirection(Direction.LEFT);
+                        world.direction[i] = world.direction[i] == LEFT ? RIGHT : LEFT;
                         patrolCount = 0;
                     }
-                    if (distance(player, enemy) < enemy.getAttackRange()) {
-                        //System.out.println("Spieler in Reichweite");
-                        if (player.getX() < enemy.getX()) {
-                            enemy.setViewingDirection(Direction.LEFT);
-                            moveLeft(enemy);
+                    if (distance(world, p, i) < world.attackRange[i]) {
+                        if (px < ex) {
+                            world.direction[i] = LEFT;
+                            moveLeft(world, i);
                         } else {
-                            enemy.setViewingDirection(Direction.RIGHT);
-                            moveRight(enemy);
+                            world.direction[i] = RIGHT;
+                            moveRight(world, i);
                         }
                         patrolCount = 0;
-                        attack(enemy, player);
-                    }
-                    switch (enemy.getViewingDirection()) {
-                        case LEFT:
-                            //System.out.println("Ich marschiere links");
-                            moveLeft(enemy);
-                            break;
-                        case RIGHT:
-                            //System.out.println("Ich marschiere rechts");
-                            moveRight(enemy);
-                            break;
+                        attack(world, i, player);
                     }
+                    if (world.direction[i] == LEFT)
+                        moveLeft(world, i);
+                    else
+                        moveRight(world, i);
                     patrolCount++;
+                    // Patrouillen machen pro Tick einen zusätzlichen Schritt
                     collisionHandler.forEnemy(enemy);
                     enemy.move();
                     break;
                 case ELOPE:
-                    //System.out.println("Ich hab Angst");
-                    if (player.getX() < enemy.getX()) {
-                        enemy.setViewingDirection(Direction.RIGHT);
-                        moveRight(enemy);
+                    if (px < ex) {
+                        world.direction[i] = RIGHT;
+                        moveRight(world, i);
                     } else {
-                        enemy.setViewingDirection(Direction.LEFT);
-                        moveLeft(enemy);
-                    }
-                    break;
-                case CROSS:
-                    if (touch(enemy, player)) {
-                        enemy.suffer(1);
-                        player.addScore(enemy.getWorthiness());
+                        world.direction[i] = LEFT;
+                        moveLeft(world, i);
                     }
                     break;
                 case ADMIN:
-                    int count = 0;
-                    for (Enemy e : level.getEnemies()) {
-                        count++;
-                    }
-                    if (count == 1) {
-                        for (int i = 0; i < /*(int) (Math.random() * 3 + 3)*/5; i++) {
+                    if (world.size() == 2) { // Nur noch der Admin selbst und der Spieler
+                        for (int j = 0; j < /*(int) (Math.random() * 3 + 3)*/5; j++) {
                             switch ((int) (Math.random() * 2)) {
                                 case 0:
                                     switch ((int) (Math.random() * 2)) {
                                         case 0:
-                                            level.getEnemies().add(new Knight(player.getX() - 100, 100 * i, ATTACK, Direction.RIGHT));
+                                            level.spawn(new Knight(px - 100, 100 * j, ATTACK, Direction.RIGHT));
                                             break;
                                         case 1:
-                                            level.getEnemies().add(new Knight(player.getX() + 100, 100 * i, ATTACK, Direction.LEFT));
+                                            level.spawn(new Knight(px + 100, 100 * j, ATTACK, Direction.LEFT));
                                             break;
                                     }
                                     break;
                                 case 1:
                                     switch ((int) (Math.random() * 2)) {
                                         case 0:
-                                            level.getEnemies().add(new Skeleton(player.getX() - 100, 100 * i, ATTACK, Direction.RIGHT));
+                                            level.spawn(new Skeleton(px - 100, 100 * j, ATTACK, Direction.RIGHT));
                                             break;
                                         case 1:
-                                            level.getEnemies().add(new Skeleton(player.getX() + 100, 100 * i, ATTACK, Direction.LEFT));
+                                            level.spawn(new Skeleton(px + 100, 100 * j, ATTACK, Direction.LEFT));
                                             break;
                                     }
                                     break;
@@ -168,66 +145,64 @@ public class AIManager {
             }
 
             collisionHandler.forEnemy(enemy);
-            if (System.nanoTime() - enemy.getLastAttackTime() > enemy.getMinTimeBetweenAttack() / 4) {
-                enemy.setAttacking(false);
+            if (System.nanoTime() - world.lastAttackTime[i] > world.attackInterval[i] / 4) {
+                world.set(i, World.ATTACKING, false);
             }
-            enemy.move();
         }
     }
 
-    private double distance(Entity entity1, Entity entity2) {
-        return Math.sqrt((entity1.getX() - entity2.getX()) * (entity1.getX() - entity2.getX()) + (entity1.getY() - entity2.getY()) * (entity1.getY() - entity2.getY()));
+    private static double distance(World world, int a, int b) {
+        double dx = world.x[a] - world.x[b], dy = world.y[a] - world.y[b];
+        return Math.sqrt(dx * dx + dy * dy);
     }
 
-    private boolean touch(Entity entity1, Entity entity2) {
-        return Math.abs(entity1.getX() - entity2.getX()) <= entity1.getHitbox().getWidth() / 2 + entity2.getHitbox().getWidth() / 2 && Math.abs(entity1.getY() - entity2.getY()) <= entity1.getHitbox().getHeight() / 2 + entity2.getHitbox().getHeight() / 2;
+    private static boolean touch(World world, int a, int b) {
+        return Math.abs(world.x[a] - world.x[b]) <= world.width[a] / 2 + world.width[b] / 2
+                && Math.abs(world.y[a] - world.y[b]) <= world.height[a] / 2 + world.height[b] / 2;
     }
 
-    private void moveLeft(Enemy enemy) {
-        enemy.setVelocityX(-Constants.PLAYER_WALK_VELOCITY);
+    private static void moveLeft(World world, int i) {
+        world.velocityX[i] = -Constants.PLAYER_WALK_VELOCITY;
     }
 
-    private void moveRight(Enemy enemy) {
-        enemy.setVelocityX(Constants.PLAYER_WALK_VELOCITY);
+    private static void moveRight(World world, int i) {
+        world.velocityX[i] = Constants.PLAYER_WALK_VELOCITY;
     }
 
-    private void attack(Enemy enemy, Player player) {
-        if (System.nanoTime() - enemy.getLastAttackTime() > enemy.getMinTimeBetweenAttack()) {
-            //System.out.println("Hey " + System.nanoTime() / 1000000000);
-            player.suffer(enemy.getStrength());
-            enemy.setAttacking(true);
-            enemy.setLastAttackTime(System.nanoTime());
+    private static void attack(World world, int i, Player player) {
+        long now = System.nanoTime();
+        if (now - world.lastAttackTime[i] > world.attackInterval[i]) {
+            player.suffer(world.strength[i]);
+            world.set(i, World.ATTACKING, true);
+            world.lastAttackTime[i] = now;
         }
     }
 
-    private Obstacle nearestViewblocker(Enemy enemy, Level level) {
-        Obstacle blocker = new Crate(-99999, -99999);
-        switch (enemy.getViewingDirection()) {
-            case LEFT:
-                blocker = new Crate(0, -99999);
-                break;
-            case RIGHT:
-                blocker = new Crate(level.getLength(), -99999);
-                break;
+    /**
+     * Fernangriff auf den Spieler, zählt für die Wartezeit bis zum nächsten Angriff mit
+     */
+    private void shoot(World world, int i, int p, int kind) {
+        long now = System.nanoTime();
+        if (now - world.lastAttackTime[i] > Constants.SPEAR_THROW_INTERVAL) {
+            double direction = world.direction[i] == LEFT ? -1 : 1;
+            projectiles.aim(kind, world.x[i] + direction * world.width[i] / 2, world.y[i] - world.height[i] * 0.6,
+                    world.x[p], world.y[p] - world.height[p] / 2, Constants.SPEAR_VELOCITY, false);
+            world.set(i, World.ATTACKING, true);
+            world.lastAttackTime[i] = now;
         }
+    }
+
+    /**
+     * @return x-Position des nächsten Hindernisses in Blickrichtung auf Augenhöhe, sonst der Levelrand
+     */
+    private static double nearestViewblocker(World world, int i, Level level) {
+        boolean left = world.direction[i] == LEFT;
+        double blocker = left ? 0 : level.getLength();
         for (Obstacle obstacle : level.getObstacles()) {
-            if (Math.abs(obstacle.getY() - enemy.getY()) < (enemy.getHitbox().getHeight() / 2) + (obstacle.getHitbox().getHeight() / 2)) {
-                switch (enemy.getViewingDirection()) {
-                    case LEFT:
-                        if (obstacle.getX() > blocker.getX()) {
-                            if (obstacle.getX() < enemy.getX()) {
-                                blocker = obstacle;
-                            }
-                        }
-                        break;
-                    case RIGHT:
-                        if (obstacle.getX() < blocker.getX()) {
-                            if (obstacle.getX() > enemy.getX()) {
-                                blocker = obstacle;
-                            }
-                        }
-                        break;
-                }
+            if (Math.abs(obstacle.getY() - world.y[i]) < (world.height[i] / 2) + (obstacle.getHitbox().getHeight() / 2)) {
+                double x = obstacle.getX();
+                if (left ? x > blocker && x < world.x[i] : x < blocker && x > world.x[i])
+                    blocker = x;
             }
         }
         return blocker;
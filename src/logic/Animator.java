@@ -0,0 +1,36 @@
+package logic;
+
+import model.Animation;
+import model.World;
+import util.Constants;
+
+/**
+ * Animationssystem: bestimmt nach der Bewegung für jede Figur Zustand und Bild.
+ * Die Zeit im Zustand läuft pro Update um genau einen Tick Simulationszeit weiter, beim Rennen doppelt so
+ * schnell; das Ergebnis landet als Sprite-Handle in der World, wo der Renderer es nur noch abholt.
+ */
+public class Animator {
+    private static final int TICK = 1_000_000 / Constants.UPDATE_CLOCK; // µs Simulationszeit pro Update
+
+    /**
+     * @param world Die Figuren des Levels
+     */
+    public void update(World world) {
+        Animation[] animation = world.animation;
+        int[] flags = world.flags, state = world.animationState, time = world.animationTime, sprite = world.sprite;
+        double[] velocityX = world.velocityX;
+        for (int i = 0; i < world.size(); i++) {
+            if (animation[i] == null)
+                continue;
+            boolean moving = (flags[i] & World.WALKING) != 0 || velocityX[i] != 0;
+            int current = Animation.state(flags[i], moving);
+            if (current != state[i]) {
+                state[i] = current;
+                time[i] = 0;
+            } else {
+                time[i] = animation[i].advance(current, time[i], (flags[i] & World.RUNNING) != 0 ? 2 * TICK : TICK);
+            }
+            sprite[i] = animation[i].getSprite(current, time[i]);
+        }
+    }
+}
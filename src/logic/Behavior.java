@@ -1,5 +1,5 @@
 package logic;
 
 public enum Behavior {
-    IDLE, PATROL, ELOPE, ATTACK, GUARD, CROSS, ADMIN
+    IDLE, PATROL, ELOPE, ATTACK, GUARD, ADMIN
 }
\ No newline at end of file
@@ -8,4 +8,24 @@ public interface Collidable {
     }
 
     Rectangle2D.Double getHitbox();
+
+    // Ränder der Hitbox für heiße Schleifen; Figuren lesen sie direkt aus der World, ohne ein Rechteck anzulegen
+
+    default double getLeft() {
+        return getHitbox().x;
+    }
+
+    default double getTop() {
+        return getHitbox().y;
+    }
+
+    default double getRight() {
+        Rectangle2D.Double hitbox = getHitbox();
+        return hitbox.x + hitbox.width;
+    }
+
+    default double getBottom() {
+        Rectangle2D.Double hitbox = getHitbox();
+        return hitbox.y + hitbox.height;
+    }
 }
\ No newline at end of file
@@ -1,89 +1,108 @@
 package logic;
 
 import gui.KeyHandler;
-import model.Cross;
-import model.Enemy;
-import model.Level;
-import model.Player;
-import util.List;
+import model.*;
+import util.Constants;
+import util.EventBus;
 import util.SoundUtil;
 
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Kollisionssystem auf den Komponentenfeldern der World.
+ * Wie bisher wird zuerst die Bewegung in x-, dann in y-Richtung geprüft, jeweils gegen Böden, Hindernisse,
+ * Gegner und (bei Gegnern) den Spieler in dieser Reihenfolge; der erste Treffer wird aufgelöst. Statt dafür
+ * pro Tick Dummy-Kopien und verkettete Listen anzulegen, wird direkt mit den verschobenen Kanten gerechnet.
+ */
 public class CollisionHandler {
     private final Player player;
-    private final Level level;
+    private final World world;
     private final KeyHandler keyHandler;
     private boolean strikeHeld;
 
+    // Böden und Hindernisse bewegen sich nicht; ihre Kanten liegen in Listenreihenfolge vor
+    private final double[] staticLeft, staticTop, staticRight, staticBottom;
+
+    // Ergebnisse von findHit, die keine Id einer Figur sind
+    private static final int NONE = -1;
+    private static final int PLAYER = -2; // Treffer auf den Spieler bei der Prüfung für Gegner
+    private static final int STATIC = -3; // Treffer auf einen Boden oder ein Hindernis, siehe hitStatic
+    private int hitStatic; // Index des zuletzt getroffenen Bodens/Hindernisses
+
     public CollisionHandler(Player player, Level level, KeyHandler keyHandler) {
         this.player = player;
-        this.level = level;
+        this.world = level.getWorld();
         this.keyHandler = keyHandler;
+
+        int count = 0;
+        for (Ground ignored : level.getGrounds())
+            count++;
+        for (Obstacle ignored : level.getObstacles())
+            count++;
+        staticLeft = new double[count];
+        staticTop = new double[count];
+        staticRight = new double[count];
+        staticBottom = new double[count];
+        int i = 0;
+        for (Collidable collidable : level.getGrounds())
+            setStatic(i++, collidable.getHitbox());
+        for (Collidable collidable : level.getObstacles())
+            setStatic(i++, collidable.getHitbox());
+    }
+
+    private void setStatic(int i, Rectangle2D.Double hitbox) {
+        staticLeft[i] = hitbox.x;
+        staticTop[i] = hitbox.y;
+        staticRight[i] = hitbox.x + hitbox.width;
+        staticBottom[i] = hitbox.y + hitbox.height;
     }
 
     public void forPlayer() {
-        List<Collidable> collidables = List.concat(List.concat(level.getGrounds(), level.getObstacles()), level.getEnemies());
-
-        Player dummy = new Player(player);
-        dummy.setVelocityY(0);
-        dummy.move();
-        for (Collidable collidable : collidables) {
-            if (dummy.collidesWith(collidable)) {
-                if (collidable instanceof Cross) {
-                    player.addScore(((Cross) collidable).getWorthiness());
-                    ((Cross) collidable).suffer(((Cross) collidable).getMaxHealth());
-                    collidables.remove(collidable);
-                    break;
-                }
-                if (player.getVelocityX() > 0) {
-                    player.setX(collidable.getHitbox().getX() - player.getHitbox().getWidth() / 2);
-                } else if (player.getVelocityX() < 0) {
-                    player.setX(collidable.getHitbox().getX() + collidable.getHitbox().getWidth() +
-                            player.getHitbox().getWidth() / 2);
-                }
-                player.setVelocityX(0);
-                player.setWalking(false);
-                break;
-            }
+        int self = player.getId();
+
+        // x-Richtung
+        int hit = findHit(self, world.velocityX[self], 0, false);
+        if (hit != NONE) {
+            double velocityX = world.velocityX[self];
+            if (velocityX > 0)
+                world.x[self] = leftOf(hit) - world.width[self] / 2;
+            else if (velocityX < 0)
+                world.x[self] = rightOf(hit) + world.width[self] / 2;
+            world.velocityX[self] = 0;
+            world.set(self, World.WALKING, false);
         }
 
-        dummy = new Player(player);
-        dummy.setVelocityX(0);
-        dummy.move();
-        for (Collidable collidable : collidables) {
-            if (dummy.collidesWith(collidable)) {
-                if (collidable instanceof Cross) {
-                    player.addScore(((Cross) collidable).getWorthiness());
-                    ((Cross) collidable).suffer(((Cross) collidable).getMaxHealth());
-                    break;
-                }
-                if (player.getVelocityY() > 0) {
-                    player.setY(collidable.getHitbox().getY());
-                    player.setVelocityY(0);
-                    player.setOnGround(true);
-                    player.setJumping(false);
-                } else if (player.getVelocityY() < 0) {
-                    player.setY(collidable.getHitbox().getY() + collidable.getHitbox().getHeight() +
-                            player.getHitbox().getHeight());
-                    player.setVelocityY(0);
-                }
-                break;
+        // y-Richtung
+        hit = findHit(self, 0, world.velocityY[self], false);
+        if (hit != NONE) {
+            double velocityY = world.velocityY[self];
+            if (velocityY > 0) {
+                world.y[self] = topOf(hit);
+                world.velocityY[self] = 0;
+                land(self, velocityY);
+                world.set(self, World.ON_GROUND, true);
+                world.set(self, World.JUMPING, false);
+            } else if (velocityY < 0) {
+                world.y[self] = bottomOf(hit) + world.height[self];
+                world.velocityY[self] = 0;
             }
         }
 
         if (!player.isExhausted()) {
-            for (Enemy enemy : level.getEnemies()) {
-                if (keyHandler.strike && !strikeHeld && dummy.getSword().intersects(enemy.getHitbox())) {
-                    enemy.suffer(player.getStrength());
-                    if (enemy.isDead())
-                        player.addScore(enemy.getWorthiness());
-                    else if (enemy.getBehavior().equals(Behavior.GUARD))
-                        enemy.setBehavior(Behavior.ATTACK);
+            if (keyHandler.strike && !strikeHeld) {
+                Rectangle2D.Double sword = player.getSword();
+                for (int i = 0; i < world.size(); i++) {
+                    // Von einem Pfeil getötete Gegner nimmt der AIManager erst im nächsten Tick heraus
+                    if (i == self || world.health[i] <= 0 || !overlaps(sword.x, sword.y, sword.x + sword.width, sword.y + sword.height,
+                            world.getLeft(i), world.getTop(i), world.getRight(i), world.getBottom(i)))
+                        continue;
+                    hitEnemy((Enemy) world.get(i), player.getStrength());
                 }
             }
 
             if (keyHandler.strike) {
                 if (!strikeHeld) {
-                    new Thread(() -> SoundUtil.playEffect("sword_attack")).start();
+                    SoundUtil.playEffect("sword_attack");
                     player.addStamina(-20);
                     strikeHeld = true;
                 }
@@ -92,67 +111,127 @@ public class CollisionHandler {
         }
     }
 
-    public void forEnemy(Enemy enemy) {
-        List<Collidable> collidables = List.concat(List.concat(level.getGrounds(), level.getObstacles()), level.getEnemies());
-        collidables.add(player);
+    private void land(int self, double velocityY) {
+        if (velocityY >= Constants.LANDING_VELOCITY)
+            world.getEvents().publish(EventBus.LANDING, (int) velocityY, world.x[self], world.y[self], self == player.getId());
+    }
 
-        Enemy dummy = new Enemy(enemy);
-        dummy.setVelocityY(0);
-        dummy.move();
+    /**
+     * Treffer des Spielers auf einen Gegner, mit dem Schwert oder einem Pfeil
+     *
+     * @param enemy  Der getroffene Gegner
+     * @param damage Der Schaden
+     */
+    void hitEnemy(Enemy enemy, int damage) {
+        enemy.suffer(damage);
+        if (enemy.isDead()) {
+            int id = enemy.getId();
+            world.getEvents().publish(EventBus.DEATH, enemy.getWorthiness(), world.x[id], world.getTop(id), false);
+            player.addScore(enemy.getWorthiness());
+            player.addKill();
+        } else if (enemy.getBehavior().equals(Behavior.GUARD))
+            enemy.setBehavior(Behavior.ATTACK);
+    }
 
-        for (Collidable collidable : collidables) {
-            if (collidable.equals(enemy))
-                continue;
-            if (dummy.collidesWith(collidable)) {
-                if (!collidable.equals(player) && !flyable(level, collidable))
-                    if (collidable.getHitbox().getY() - enemy.getY() + collidable.getHitbox().getHeight() < 200) {
-                        enemy.setVelocityY((collidable.getHitbox().getY() - enemy.getY()) / 10);
-                        enemy.setY(enemy.getY() - 50);
-                    }
-                    /*if(collidable.getHitbox().getY() - enemy.getY() + collidable.getHitbox().getHeight() < 200){
-                        enemy.setY(enemy.getY()-50); //gettomod
-                    }*/
-                if (enemy.getVelocityX() > 0) {
-                    enemy.setX(collidable.getHitbox().getX() - enemy.getHitbox().getWidth() / 2);
-                    //enemy.setX(enemy.getX()-5);
-                } else if (enemy.getVelocityX() < 0) {
-                    enemy.setX(collidable.getHitbox().getX() + collidable.getHitbox().getWidth() +
-                            enemy.getHitbox().getWidth() / 2);
-                    //enemy.setX(enemy.getX()+5);
+    public void forEnemy(Enemy enemy) {
+        int self = enemy.getId();
+
+        int hit = findHit(self, world.velocityX[self], 0, true);
+        if (hit != NONE) {
+            if (hit != PLAYER && !flyable(hit))
+                if (topOf(hit) - world.y[self] + heightOf(hit) < 200) {
+                    world.velocityY[self] = (topOf(hit) - world.y[self]) / 10;
+                    world.y[self] -= 50;
                 }
-                enemy.setVelocityX(0);
-                enemy.setWalking(false);
-                break;
-            }
+            double velocityX = world.velocityX[self];
+            if (velocityX > 0)
+                world.x[self] = leftOf(hit) - world.width[self] / 2;
+            else if (velocityX < 0)
+                world.x[self] = rightOf(hit) + world.width[self] / 2;
+            world.velocityX[self] = 0;
+            world.set(self, World.WALKING, false);
         }
 
-        dummy = new Enemy(enemy);
-        dummy.setVelocityX(0);
-        dummy.move();
-        for (Collidable collidable : collidables) {
-            if (collidable.equals(enemy))
-                continue;
-            if (dummy.collidesWith(collidable)) {
-                if (enemy.getVelocityY() > 0) {
-                    enemy.setY(collidable.getHitbox().getY());
-                    enemy.setVelocityY(0);
-                    enemy.setOnGround(true);
-                    enemy.setJumping(false);
-                } else if (enemy.getVelocityY() < 0) {
-                    enemy.setY(collidable.getHitbox().getY() + collidable.getHitbox().getHeight() +
-                            enemy.getHitbox().getHeight());
-                    enemy.setVelocityY(0);
-                }
-                break;
+        hit = findHit(self, 0, world.velocityY[self], true);
+        if (hit != NONE) {
+            double velocityY = world.velocityY[self];
+            if (velocityY > 0) {
+                world.y[self] = topOf(hit);
+                world.velocityY[self] = 0;
+                land(self, velocityY);
+                world.set(self, World.ON_GROUND, true);
+                world.set(self, World.JUMPING, false);
+            } else if (velocityY < 0) {
+                world.y[self] = bottomOf(hit) + world.height[self];
+                world.velocityY[self] = 0;
             }
         }
     }
 
-    public boolean flyable(Level level, Collidable collidable) { //fixt Bug, bei dem zwei Enemys hochflogen, indem sie aneinander laufen
-        for (Enemy e : level.getEnemies()) {
-            if ((collidable.equals(e) && e.getVelocityY() != 0))
-                return true;
+    /**
+     * Sucht das erste Objekt, das die um (dx, dy) verschobene Hitbox einer Figur schneidet
+     *
+     * @param withPlayer Ob auch der Spieler ein Hindernis ist (für Gegner)
+     * @return Id der getroffenen Figur, PLAYER, STATIC oder NONE
+     */
+    private int findHit(int self, double dx, double dy, boolean withPlayer) {
+        double left = world.getLeft(self) + dx, top = world.getTop(self) + dy;
+        double right = world.getRight(self) + dx, bottom = world.getBottom(self) + dy;
+
+        hitStatic = NONE;
+        for (int i = 0; i < staticLeft.length; i++) {
+            if (overlaps(left, top, right, bottom, staticLeft[i], staticTop[i], staticRight[i], staticBottom[i])) {
+                hitStatic = i;
+                return STATIC;
+            }
+        }
+
+        int playerId = player.getId();
+        double[] x = world.x, y = world.y, width = world.width, height = world.height;
+        for (int i = 0; i < world.size(); i++) {
+            if (i == self || i == playerId)
+                continue;
+            double halfWidth = width[i] / 2;
+            if (overlaps(left, top, right, bottom, x[i] - halfWidth, y[i] - height[i], x[i] + halfWidth, y[i]))
+                return i;
         }
-        return false;
+
+        if (withPlayer && overlaps(left, top, right, bottom, world.getLeft(playerId), world.getTop(playerId),
+                world.getRight(playerId), world.getBottom(playerId)))
+            return PLAYER;
+        return NONE;
+    }
+
+    private static boolean overlaps(double left1, double top1, double right1, double bottom1,
+                                    double left2, double top2, double right2, double bottom2) {
+        return left1 < right2 && right1 > left2 && top1 < bottom2 && bottom1 > top2;
+    }
+
+    private int id(int hit) {
+        return hit == PLAYER ? player.getId() : hit;
+    }
+
+    private double leftOf(int hit) {
+        return hit == STATIC ? staticLeft[hitStatic] : world.getLeft(id(hit));
+    }
+
+    private double rightOf(int hit) {
+        return hit == STATIC ? staticRight[hitStatic] : world.getRight(id(hit));
+    }
+
+    private double topOf(int hit) {
+        return hit == STATIC ? staticTop[hitStatic] : world.getTop(id(hit));
+    }
+
+    private double bottomOf(int hit) {
+        return hit == STATIC ? staticBottom[hitStatic] : world.getBottom(id(hit));
+    }
+
+    private double heightOf(int hit) {
+        return bottomOf(hit) - topOf(hit);
+    }
+
+    private boolean flyable(int hit) { //fixt Bug, bei dem zwei Enemys hochflogen, indem sie aneinander laufen
+        return hit >= 0 && world.velocityY[hit] != 0;
     }
 }
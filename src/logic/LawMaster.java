@@ -1,7 +1,7 @@
 package logic;
 
-import model.Entity;
 import model.Player;
+import model.World;
 import util.Constants;
 
 public class LawMaster {
@@ -30,8 +30,30 @@ public class LawMaster {
             player.addHealth(1);
     }
 
-    public void applyGravitation(Entity entity) {
-        entity.addVelocityY(Constants.GRAVITATIONAL_ACCELERATION);
-        entity.setOnGround(false);
+    /**
+     * Schwerkraft für alle Figuren einer World in einem Durchlauf über die Komponentenfelder
+     *
+     * @param world Die Figuren des Levels
+     */
+    public void applyGravitation(World world) {
+        double[] velocityY = world.velocityY;
+        int[] flags = world.flags;
+        for (int i = 0; i < world.size(); i++) {
+            velocityY[i] += Constants.GRAVITATIONAL_ACCELERATION;
+            flags[i] &= ~World.ON_GROUND;
+        }
+    }
+
+    /**
+     * Bewegung aller Figuren einer World um ihre Geschwindigkeit
+     *
+     * @param world Die Figuren des Levels
+     */
+    public void move(World world) {
+        double[] x = world.x, y = world.y, velocityX = world.velocityX, velocityY = world.velocityY;
+        for (int i = 0; i < world.size(); i++) {
+            x[i] += velocityX[i];
+            y[i] += velocityY[i];
+        }
     }
 }
@@ -0,0 +1,185 @@
+package logic;
+
+import util.Constants;
+import util.EventBus;
+
+/**
+ * Partikel für Treffer, Tode, eingesammelte Kreuze und harte Landungen.
+ * Position, Geschwindigkeit, Lebensdauer und Farbe liegen in vorab angelegten Feldern; die ersten count
+ * Plätze sind belegt, ein abgelaufenes Partikel wird durch das letzte ersetzt. Ein Update ist eine einzige
+ * Schleife, und gezeichnet wird nicht Partikel für Partikel über Graphics2D, sondern per rasterize direkt
+ * in die Pixel eines wiederverwendeten Bildes, das der Renderer dann einmal zeichnet.
+ * <p>
+ * Die Partikel entstehen aus den Ereignissen des Levels, die das System zu Beginn jedes Updates abholt.
+ * Das Budget begrenzt die gleichzeitig lebenden Partikel und lässt sich zur Laufzeit ändern.
+ */
+public class ParticleSystem {
+    private static final float GRAVITY = (float) Constants.GRAVITATIONAL_ACCELERATION * 0.5f;
+    private static final int SIZE = 3; // Kantenlänge eines Partikels in px
+
+    private final float[] x, y, velocityX, velocityY;
+    private final float[] life, lifetime; // Verbleibende und gesamte Lebensdauer in Updates
+    private final int[] color; // RGB
+    private int count;
+    private int budget;
+    private int dropped; // Partikel, die das Budget nicht mehr zuließ
+    private int random = 0x2545F491; // Zustand des Xorshift-Generators
+
+    private final EventBus.Consumer events;
+    private final EventBus.Handler eventHandler = this::onEvent;
+
+    /**
+     * @param eventBus Die Ereignisse des Levels
+     * @param budget   Anfängliches Budget, höchstens PARTICLE_CAPACITY
+     */
+    public ParticleSystem(EventBus eventBus, int budget) {
+        int capacity = Constants.PARTICLE_CAPACITY;
+        x = new float[capacity];
+        y = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        life = new float[capacity];
+        lifetime = new float[capacity];
+        color = new int[capacity];
+        setBudget(budget);
+        events = eventBus.subscribe();
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Ändert das Budget; überzählige Partikel verschwinden sofort
+     *
+     * @param budget Höchstzahl gleichzeitig lebender Partikel, wird auf 0 bis PARTICLE_CAPACITY begrenzt
+     */
+    public void setBudget(int budget) {
+        this.budget = Math.max(0, Math.min(budget, x.length));
+        count = Math.min(count, this.budget);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Erzeugt Partikel aus den neuen Ereignissen und bewegt alle um einen Schritt; einmal pro Update
+     */
+    public void update() {
+        events.poll(eventHandler);
+
+        float[] x = this.x, y = this.y, velocityX = this.velocityX, velocityY = this.velocityY, life = this.life;
+        for (int i = 0; i < count; i++) {
+            if (--life[i] <= 0) {
+                remove(i--);
+                continue;
+            }
+            velocityY[i] += GRAVITY;
+            x[i] += velocityX[i];
+            y[i] += velocityY[i];
+        }
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        velocityX[i] = velocityX[last];
+        velocityY[i] = velocityY[last];
+        life[i] = life[last];
+        lifetime[i] = lifetime[last];
+        color[i] = color[last];
+    }
+
+    private void onEvent(int type, int value, double x, double y, boolean player) {
+        switch (type) {
+            case EventBus.DAMAGE: // Blutspritzer am Oberkörper
+                emit(12, x, y + 40, 4, -3, 30, 0xB01010);
+                break;
+            case EventBus.DEATH:
+                emit(80, x, y + 60, 7, -4, 60, 0x8A0000);
+                emit(40, x, y + 60, 3, -6, 90, 0x909090);
+                break;
+            case EventBus.PICKUP: // Goldener Funkenregen
+                emit(40, x, y + 30, 5, -6, 50, 0xF0C020);
+                break;
+            case EventBus.LANDING: // Staub, umso mehr, je härter die Landung
+                emit(2 * value, x, y, 3, -1, 25, 0x9C8060);
+                break;
+        }
+    }
+
+    /**
+     * Erzeugt Partikel, soweit das Budget reicht
+     *
+     * @param amount  Anzahl
+     * @param spread  Größte horizontale Geschwindigkeit
+     * @param lift    Vertikale Anfangsgeschwindigkeit, nach oben negativ
+     * @param maxLife Größte Lebensdauer in Updates
+     * @param rgb     Grundfarbe
+     */
+    public void emit(int amount, double x, double y, float spread, float lift, int maxLife, int rgb) {
+        for (int n = 0; n < amount; n++) {
+            if (count == budget) {
+                dropped += amount - n;
+                return;
+            }
+            int i = count++;
+            this.x[i] = (float) x;
+            this.y[i] = (float) y;
+            velocityX[i] = (nextFloat() * 2 - 1) * spread;
+            velocityY[i] = lift * (0.5f + nextFloat());
+            lifetime[i] = life[i] = maxLife * (0.5f + nextFloat() / 2);
+            color[i] = rgb;
+        }
+    }
+
+    private float nextFloat() {
+        random ^= random << 13;
+        random ^= random >>> 17;
+        random ^= random << 5;
+        return (random >>> 8) / (float) (1 << 24);
+    }
+
+    /**
+     * Schreibt alle sichtbaren Partikel als kleine Quadrate in ein ARGB-Pixelfeld; sie blenden zum
+     * Ende ihrer Lebensdauer aus. Das Feld muss vorher geleert sein.
+     *
+     * @param pixels  Pixel, zeilenweise
+     * @param width   Breite des Bildes
+     * @param height  Höhe des Bildes
+     * @param cameraX Linker Rand des sichtbaren Bereichs in Weltkoordinaten
+     * @param bounds  Erhält den beschriebenen Bereich als links, oben, rechts, unten (rechts und unten exklusiv),
+     *                damit nur dieser gezeichnet und wieder geleert werden muss
+     * @return Anzahl der gezeichneten Partikel
+     */
+    public int rasterize(int[] pixels, int width, int height, double cameraX, int[] bounds) {
+        int drawn = 0;
+        int offset = (int) cameraX;
+        int minX = width, minY = height, maxX = 0, maxY = 0;
+        for (int i = 0; i < count; i++) {
+            int left = (int) x[i] - offset, top = (int) y[i];
+            if (left < 0 || top < 0 || left > width - SIZE || top > height - SIZE)
+                continue;
+            minX = Math.min(minX, left);
+            minY = Math.min(minY, top);
+            maxX = Math.max(maxX, left + SIZE);
+            maxY = Math.max(maxY, top + SIZE);
+            int argb = (int) (255 * life[i] / lifetime[i]) << 24 | color[i];
+            for (int row = top * width + left, end = row + SIZE * width; row < end; row += width)
+                for (int pixel = row; pixel < row + SIZE; pixel++)
+                    pixels[pixel] = argb;
+            drawn++;
+        }
+        bounds[0] = Math.min(minX, maxX);
+        bounds[1] = Math.min(minY, maxY);
+        bounds[2] = maxX;
+        bounds[3] = maxY;
+        return drawn;
+    }
+}
@@ -0,0 +1,258 @@
+package logic;
+
+import gui.KeyHandler;
+import model.*;
+import util.Constants;
+import util.SoundUtil;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Pfeile und Speere. Alle fliegenden Projektile liegen in einem Pool fester Größe aus primitiven Feldern:
+ * Die ersten count Plätze sind belegt, ein entferntes Projektil wird durch das letzte ersetzt. Abschießen
+ * und Entfernen legen deshalb nichts an, und ein Update ist eine einzige Schleife über die belegten Plätze.
+ * <p>
+ * Kollisionen werden überstrichen geprüft: Der Weg eines Projektils in diesem Update ist eine Strecke, die
+ * gegen die nach x sortierten Böden, Hindernisse und Gegner (bzw. den Spieler) geschnitten wird; es zählt
+ * der früheste Schnittpunkt. So fliegt auch ein schneller Pfeil nicht durch eine dünne Kiste.
+ */
+public class ProjectileSystem {
+    // Arten
+    public static final int NONE = -1;
+    public static final int ARROW = 0;
+    public static final int FIRE_ARROW = 1; // Aus voll gespanntem Bogen
+    public static final int SPEAR = 2;
+    private static final int[] DAMAGE = {Constants.ARROW_DAMAGE, 2 * Constants.ARROW_DAMAGE, Constants.SPEAR_DAMAGE};
+
+    private static final double NO_HIT = 2; // Größer als jeder Streckenanteil
+    private static final double GRAVITY = Constants.GRAVITATIONAL_ACCELERATION * Constants.PROJECTILE_GRAVITY;
+
+    private final Player player;
+    private final Level level;
+    private final KeyHandler keyHandler;
+    private final CollisionHandler collisionHandler;
+
+    // Pool
+    private final double[] x, y, velocityX, velocityY;
+    private final int[] kind, age;
+    private final boolean[] fromPlayer;
+    private int count;
+    private int dropped; // Schüsse, für die kein Platz mehr frei war
+
+    private final SpatialIndex<Ground> grounds = new SpatialIndex<>();
+    private final SpatialIndex<Obstacle> obstacles = new SpatialIndex<>();
+    private final SpatialIndex<Enemy> enemies = new SpatialIndex<>(); // Jedes Update neu, Gegner bewegen sich
+    private int hit; // Index des zuletzt von sweep getroffenen Objekts
+
+    public ProjectileSystem(Player player, Level level, KeyHandler keyHandler, CollisionHandler collisionHandler) {
+        this(player, level, keyHandler, collisionHandler, Constants.PROJECTILE_CAPACITY);
+    }
+
+    /**
+     * @param capacity Größe des Pools
+     */
+    public ProjectileSystem(Player player, Level level, KeyHandler keyHandler, CollisionHandler collisionHandler, int capacity) {
+        this.player = player;
+        this.level = level;
+        this.keyHandler = keyHandler;
+        this.collisionHandler = collisionHandler;
+        x = new double[capacity];
+        y = new double[capacity];
+        velocityX = new double[capacity];
+        velocityY = new double[capacity];
+        kind = new int[capacity];
+        age = new int[capacity];
+        fromPlayer = new boolean[capacity];
+        grounds.rebuild(level.getGrounds());
+        obstacles.rebuild(level.getObstacles());
+    }
+
+    /**
+     * Bogen des Spielers: Solange die Taste gehalten wird, spannt er den Bogen, beim Loslassen fliegt
+     * der Pfeil, umso schneller, je länger gespannt wurde
+     */
+    public void forPlayer() {
+        if (keyHandler.shoot && !player.isExhausted()) {
+            player.setBowCharge(Math.min(player.getBowCharge() + 1, Constants.BOW_CHARGE_TIME));
+        } else if (player.getBowCharge() > 0) {
+            double power = (double) player.getBowCharge() / Constants.BOW_CHARGE_TIME;
+            double direction = player.getViewingDirection().equals(Direction.RIGHT) ? 1 : -1;
+            Rectangle2D.Double hitbox = player.getHitbox();
+            fire(power == 1 ? FIRE_ARROW : ARROW, player.getX() + direction * hitbox.width / 2,
+                    hitbox.y + hitbox.height * 0.4, direction * Constants.ARROW_VELOCITY * (0.4 + 0.6 * power),
+                    -2 * power, true);
+            player.addStamina(-Constants.BOW_STAMINA);
+            player.setBowCharge(0);
+            SoundUtil.playEffect("sword_attack");
+        }
+
+        if (keyHandler.volley) {
+            keyHandler.volley = false;
+            for (int i = 0; i < Constants.VOLLEY_SIZE; i++)
+                fire(ARROW, player.getX() - 1000 + 2000.0 * i / Constants.VOLLEY_SIZE, -200 - (i % 10) * 40,
+                        (i % 7 - 3) * 2, 0, true);
+        }
+    }
+
+    /**
+     * Schießt ein Projektil ab
+     *
+     * @param kind       ARROW, FIRE_ARROW oder SPEAR
+     * @param fromPlayer Ob es Gegner trifft (vom Spieler) oder den Spieler (von einem Gegner)
+     * @return false, falls der Pool voll ist
+     */
+    public boolean fire(int kind, double x, double y, double velocityX, double velocityY, boolean fromPlayer) {
+        if (count == this.x.length) {
+            dropped++;
+            return false;
+        }
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.velocityX[i] = velocityX;
+        this.velocityY[i] = velocityY;
+        this.kind[i] = kind;
+        this.fromPlayer[i] = fromPlayer;
+        age[i] = 0;
+        return true;
+    }
+
+    /**
+     * Wirft ein Projektil in einem Bogen, der ungefähr das Ziel trifft
+     *
+     * @param velocity Horizontale Geschwindigkeit
+     */
+    public boolean aim(int kind, double x, double y, double targetX, double targetY, double velocity, boolean fromPlayer) {
+        double distance = targetX - x;
+        double time = Math.max(1, Math.abs(distance) / velocity); // Updates bis zum Ziel
+        double velocityY = (targetY - y) / time - GRAVITY * time / 2;
+        velocityY = Math.max(-2 * velocity, Math.min(2 * velocity, velocityY));
+        return fire(kind, x, y, Math.copySign(velocity, distance), velocityY, fromPlayer);
+    }
+
+    /**
+     * Bewegt alle Projektile um einen Schritt und löst Treffer auf; einmal pro Update
+     */
+    public void update() {
+        if (count == 0)
+            return;
+        enemies.rebuild(level.getEnemies());
+        double playerLeft = player.getLeft(), playerTop = player.getTop();
+        double playerRight = player.getRight(), playerBottom = player.getBottom();
+
+        for (int i = 0; i < count; i++) {
+            velocityY[i] += GRAVITY;
+            double x0 = x[i], y0 = y[i], dx = velocityX[i], dy = velocityY[i];
+
+            double t = sweep(grounds, x0, y0, dx, dy, NO_HIT);
+            t = sweep(obstacles, x0, y0, dx, dy, t);
+            Entity target = null;
+            if (fromPlayer[i]) {
+                double enemyT = sweep(enemies, x0, y0, dx, dy, t);
+                if (enemyT < t) {
+                    t = enemyT;
+                    target = enemies.get(hit);
+                }
+            } else {
+                double playerT = entry(x0, y0, dx, dy, playerLeft, playerTop, playerRight, playerBottom);
+                if (playerT < t) {
+                    t = playerT;
+                    target = player;
+                }
+            }
+
+            if (target == player) {
+                player.suffer(DAMAGE[kind[i]]);
+            } else if (target != null) {
+                collisionHandler.hitEnemy((Enemy) target, DAMAGE[kind[i]]); // Tote Gegner überspringt sweep
+            }
+            x[i] = x0 + dx;
+            y[i] = y0 + dy;
+            if (t <= 1 || ++age[i] > Constants.PROJECTILE_LIFETIME || y[i] > 1000)
+                remove(i--); // Steckt fest, hat getroffen oder ist aus der Welt gefallen
+        }
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        velocityX[i] = velocityX[last];
+        velocityY[i] = velocityY[last];
+        kind[i] = kind[last];
+        age[i] = age[last];
+        fromPlayer[i] = fromPlayer[last];
+    }
+
+    /**
+     * Schneidet die Strecke von (x0, y0) nach (x0 + dx, y0 + dy) mit den Hitboxen eines Index
+     *
+     * @param limit Bisher frühester Treffer als Streckenanteil
+     * @return Frühester Treffer, falls früher als limit (dann steht der Index in hit), sonst limit
+     */
+    private <T extends Collidable> double sweep(SpatialIndex<T> index, double x0, double y0, double dx, double dy, double limit) {
+        double left = Math.min(x0, x0 + dx), right = Math.max(x0, x0 + dx);
+        for (int i = index.first(left); i < index.size() && index.getMinX(i) <= right; i++) {
+            if (index.getMaxX(i) < left)
+                continue;
+            T item = index.get(i);
+            if (item instanceof Entity && ((Entity) item).isDead())
+                continue;
+            double t = entry(x0, y0, dx, dy, item.getLeft(), item.getTop(), item.getRight(), item.getBottom());
+            if (t < limit) {
+                limit = t;
+                hit = i;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * @return Streckenanteil in [0, 1], an dem die Strecke in das Rechteck eintritt, sonst NO_HIT
+     */
+    private static double entry(double x0, double y0, double dx, double dy,
+                                double left, double top, double right, double bottom) {
+        double enter = 0, exit = 1;
+        if (dx == 0) {
+            if (x0 < left || x0 > right)
+                return NO_HIT;
+        } else {
+            double t1 = (left - x0) / dx, t2 = (right - x0) / dx;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (y0 < top || y0 > bottom)
+                return NO_HIT;
+        } else {
+            double t1 = (top - y0) / dy, t2 = (bottom - y0) / dy;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        return enter <= exit ? enter : NO_HIT;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getVelocityX(int i) {
+        return velocityX[i];
+    }
+
+    public int getKind(int i) {
+        return kind[i];
+    }
+}
@@ -0,0 +1,91 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Nach linkem Rand sortierter Index über die Hitboxen von Collidables.
+ * Eine Bereichsabfrage sucht binär den Einstieg und läuft dann nur über die Objekte, die den Bereich
+ * tatsächlich berühren könnten. Die Abfrage liefert keine Liste, sondern Indizes, damit pro Frame
+ * nichts allokiert wird:
+ * <pre>
+ * for (int i = index.first(left); i < index.size() && index.getMinX(i) <= right; i++)
+ *     if (index.getMaxX(i) >= left)
+ *         ... index.get(i) ...
+ * </pre>
+ */
+public class SpatialIndex<T extends Collidable> {
+    private Object[] items = new Object[0];
+    private double[] minX = new double[0];
+    private double[] maxX = new double[0];
+    private int size;
+    private double maxWidth; // Breitestes Objekt; so weit links vom Bereich muss die Suche beginnen
+
+    /**
+     * Übernimmt die Objekte und sortiert sie nach dem linken Rand ihrer Hitbox.
+     * Kann jeden Frame aufgerufen werden: Die Felder werden wiederverwendet und sortiert wird per
+     * Insertion Sort, was für schon (fast) sortierte Eingaben wie die Level-Listen linear ist.
+     *
+     * @param source Die zu indizierenden Objekte
+     */
+    public void rebuild(Iterable<? extends T> source) {
+        size = 0;
+        maxWidth = 0;
+        for (T item : source) {
+            if (size == items.length) {
+                int capacity = Math.max(16, size * 2);
+                items = Arrays.copyOf(items, capacity);
+                minX = Arrays.copyOf(minX, capacity);
+                maxX = Arrays.copyOf(maxX, capacity);
+            }
+            double left = item.getLeft(), right = item.getRight();
+            maxWidth = Math.max(maxWidth, right - left);
+
+            int i = size++;
+            while (i > 0 && minX[i - 1] > left) {
+                items[i] = items[i - 1];
+                minX[i] = minX[i - 1];
+                maxX[i] = maxX[i - 1];
+                i--;
+            }
+            items[i] = item;
+            minX[i] = left;
+            maxX[i] = right;
+        }
+        // Keine Referenzen auf entfernte Objekte festhalten
+        Arrays.fill(items, size, items.length, null);
+    }
+
+    /**
+     * @param left Linker Rand des abgefragten Bereichs
+     * @return Erster Index, dessen Objekt den Bereich berühren kann
+     */
+    public int first(double left) {
+        int low = 0, high = size;
+        double start = left - maxWidth;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (minX[middle] < start)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        return (T) items[i];
+    }
+
+    public double getMinX(int i) {
+        return minX[i];
+    }
+
+    public double getMaxX(int i) {
+        return maxX[i];
+    }
+
+    public int size() {
+        return size;
+    }
+}
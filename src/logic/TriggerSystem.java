@@ -0,0 +1,60 @@
+package logic;
+
+import model.Cross;
+import model.Level;
+import model.Player;
+
+import util.EventBus;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Auslöser für statische Einsammelobjekte wie Kreuze.
+ * Die Auslösebereiche liegen einmalig nach x sortiert in einem SpatialIndex; pro Tick wird nur die
+ * überstrichene Hitbox des Spielers (Vereinigung aus Lage vor und nach dem Tick) dagegen geprüft. So entgeht
+ * dem Spieler auch bei hoher Fallgeschwindigkeit kein Kreuz, und die Kosten hängen nicht von der Anzahl
+ * der Kreuze im Level ab.
+ */
+public class TriggerSystem {
+    private final Player player;
+    private final EventBus events;
+    private final SpatialIndex<Cross> crosses = new SpatialIndex<>();
+    private double lastLeft, lastTop, lastRight, lastBottom; // Hitbox des Spielers nach dem letzten Tick
+
+    public TriggerSystem(Player player, Level level) {
+        this.player = player;
+        events = level.getWorld().getEvents();
+        crosses.rebuild(level.getCrosses());
+        remember();
+    }
+
+    /**
+     * Sammelt alle Kreuze ein, die der Spieler seit dem letzten Aufruf berührt hat; einmal pro Tick
+     * nach der Bewegung aufzurufen
+     */
+    public void update() {
+        double left = Math.min(lastLeft, player.getLeft()), right = Math.max(lastRight, player.getRight());
+        double top = Math.min(lastTop, player.getTop()), bottom = Math.max(lastBottom, player.getBottom());
+
+        for (int i = crosses.first(left); i < crosses.size() && crosses.getMinX(i) < right; i++) {
+            if (crosses.getMaxX(i) <= left)
+                continue;
+            Cross cross = crosses.get(i);
+            Rectangle2D.Double volume = cross.getHitbox();
+            if (cross.isCollected() || volume.y >= bottom || volume.y + volume.height <= top)
+                continue;
+            cross.collect();
+            events.publish(EventBus.PICKUP, cross.getWorthiness(), cross.getX(), volume.y, true);
+            player.addCross();
+            player.addScore(cross.getWorthiness());
+        }
+        remember();
+    }
+
+    private void remember() {
+        lastLeft = player.getLeft();
+        lastTop = player.getTop();
+        lastRight = player.getRight();
+        lastBottom = player.getBottom();
+    }
+}
@@ -0,0 +1,71 @@
+package model;
+
+/**
+ * Bildfolgen einer Figurenart. Wird pro Art einmal beim Laden der Klasse angelegt und von allen Figuren
+ * dieser Art geteilt. Pro Zustand gibt es eine Tabelle von Sprite-Handles; welches Bild gezeigt wird,
+ * ergibt sich nur aus der Simulationszeit, die die Figur schon in diesem Zustand verbracht hat.
+ */
+public class Animation {
+    // Zustände, nach Vorrang: Ducken vor Springen vor Laufen
+    public static final int STAND = 0;
+    public static final int WALK = 1;
+    public static final int CROUCH = 2;
+    public static final int CROUCH_WALK = 3;
+    public static final int JUMP = 4;
+    private static final int STATES = 5;
+
+    private final int[][] frames = new int[STATES][];
+    private final int frameDuration; // µs Simulationszeit pro Bild bei normalem Tempo
+
+    /**
+     * @param frameDuration Dauer eines Bildes in µs Simulationszeit
+     * @param stand         Sprite im Stand; gilt für alle Zustände, die nicht mit frames belegt werden
+     */
+    public Animation(int frameDuration, int stand) {
+        this.frameDuration = frameDuration;
+        for (int state = 0; state < STATES; state++)
+            frames[state] = new int[]{stand};
+    }
+
+    /**
+     * Belegt einen Zustand mit einer Bildfolge
+     *
+     * @param state  Einer der Zustände, z.B. WALK
+     * @param frames Sprite-Handles in Abspielreihenfolge
+     * @return Diese Animation, zum Verketten bei der Definition
+     */
+    public Animation frames(int state, int... frames) {
+        this.frames[state] = frames.clone();
+        return this;
+    }
+
+    /**
+     * Ermittelt den Zustand aus den Zustandsbits einer Figur
+     *
+     * @param flags  Zustandsbits aus der World
+     * @param moving Ob sich die Figur seitwärts bewegt
+     */
+    public static int state(int flags, boolean moving) {
+        if ((flags & World.CROUCHING) != 0)
+            return moving ? CROUCH_WALK : CROUCH;
+        if ((flags & World.JUMPING) != 0)
+            return JUMP;
+        return moving ? WALK : STAND;
+    }
+
+    /**
+     * @return Die um elapsed weitergezählte Zeit im Zustand, auf die Länge eines Durchlaufs begrenzt
+     */
+    public int advance(int state, int time, int elapsed) {
+        return (time + elapsed) % (frames[state].length * frameDuration);
+    }
+
+    /**
+     * @param state Zustand der Figur
+     * @param time  Zeit im Zustand in µs, siehe advance
+     * @return Das zu zeichnende Sprite-Handle
+     */
+    public int getSprite(int state, int time) {
+        return frames[state][time / frameDuration];
+    }
+}
@@ -1,8 +1,11 @@
 package model;
 
+import util.SpriteAtlas;
+
 import java.awt.geom.Rectangle2D;
 
 public class Barrel extends Obstacle {
+    private static final int SPRITE = SpriteAtlas.getInstance().register("images/obstacles/barrel.png");
     private final double BARREL_WIDTH = 98;
     private final double BARREL_HEIGHT = 128;
 
@@ -13,7 +16,7 @@ public class Barrel extends Obstacle {
     }
 
     @Override
-    public String getImagePath() {
-        return "images/obstacles/barrel.png";
+    public int getSpriteHandle() {
+        return SPRITE;
     }
 }
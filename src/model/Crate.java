@@ -1,8 +1,11 @@
 package model;
 
+import util.SpriteAtlas;
+
 import java.awt.geom.Rectangle2D;
 
 public class Crate extends Obstacle {
+    private static final int SPRITE = SpriteAtlas.getInstance().register("images/obstacles/crate.png");
     private final double CRATE_WIDTH = 128;
     private final double CRATE_HEIGHT = 128;
 
@@ -13,7 +16,7 @@ public class Crate extends Obstacle {
     }
 
     @Override
-    public String getImagePath() {
-        return "images/obstacles/crate.png";
+    public int getSpriteHandle() {
+        return SPRITE;
     }
 }
@@ -1,57 +1,64 @@
 package model;
 
-import logic.Behavior;
+import logic.Collidable;
 import util.Constants;
-import util.SoundUtil;
+import util.SpriteAtlas;
 
 import java.awt.geom.Rectangle2D;
 
-public class Cross extends Enemy {
-    private final double CROSS_WIDTH = 70;
-    private final double CROSS_HEIGHT = 90;
+/**
+ * Einsammelbares Kreuz. Kreuze sind keine Figuren: Sie unterliegen weder Schwerkraft noch KI und werden
+ * nur vom TriggerSystem gegen den Spieler geprüft.
+ */
+public class Cross implements Collidable {
+    private static final int SPRITE = SpriteAtlas.getInstance().register("images/enemies/cross.png");
+    private static final double CROSS_WIDTH = 70;
+    private static final double CROSS_HEIGHT = 90;
+
+    private final double x, y;
+    private final Rectangle2D.Double hitbox;
+    private volatile boolean collected;
 
     public Cross(double x, double y) {
-        super(x, y, Behavior.CROSS, Direction.RIGHT);
+        this.x = x;
+        this.y = y;
         hitbox = new Rectangle2D.Double(x - CROSS_WIDTH / 2, y - CROSS_HEIGHT, CROSS_WIDTH, CROSS_HEIGHT);
-        viewingRange = Constants.CROSS_VIEWING_RANGE;
-        attackRange = Constants.CROSS_ATTACK_RANGE;
-        minTimeBetweenAttack = Constants.CROSS_ATTACK_INTERVAL;
-        health = getMaxHealth();
-        worthiness = Constants.CROSS_WORTHINESS;
-        strength = Constants.CROSS_STRENGTH;
-        paintWeapon = false;
-        paintHealth = false;
     }
 
-    public String getImagePath() {
-        return "images/enemies/cross.png";
+    public double getX() {
+        return x;
     }
 
-    @Override
-    public int getMaxHealth() {
-        return Constants.CROSS_MAX_HEALTH;
+    public double getY() {
+        return y;
     }
 
     @Override
-    public String toString() {
-        return "Cross at " + super.toString();
+    public Rectangle2D.Double getHitbox() {
+        return hitbox;
     }
 
-    @Override
-    public void suffer(int damage) {
-        health -= damage;
-        new Thread(() -> SoundUtil.playEffect("cross")).start();
+    public int getWorthiness() {
+        return Constants.CROSS_WORTHINESS;
     }
 
-    @Override
-    public void move() {
+    public boolean isCollected() {
+        return collected;
     }
 
-    @Override
-    public void addVelocityX(double velocityX) {
+    /**
+     * Markiert das Kreuz als eingesammelt; danach wird es weder gezeichnet noch erneut ausgelöst
+     */
+    public void collect() {
+        collected = true;
+    }
+
+    public int getSpriteHandle() {
+        return SPRITE;
     }
 
     @Override
-    public void addVelocityY(double velocityY) {
+    public String toString() {
+        return "Cross at (" + x + ", " + y + ")" + (collected ? ", eingesammelt" : "");
     }
 }
@@ -1,111 +1,101 @@
 package model;
 
 import logic.Behavior;
+import logic.ProjectileSystem;
+import util.Constants;
+import util.SpriteAtlas;
 
 import java.awt.geom.Rectangle2D;
 
 public class Enemy extends Entity implements Cloneable {
-    protected Behavior behavior;
+    private static final int SWORD = SpriteAtlas.getInstance().register("images/sword/sword_giant.png");
+    private static final int SWORD_STRIKE = SpriteAtlas.getInstance().register("images/sword/sword_giant_strike.png");
+
+    private static final Behavior[] BEHAVIORS = Behavior.values();
 
-    protected double viewingRange;
-    protected double attackRange;
     protected int worthiness;
-    protected long lastAttackTime; //Zeit des letzten Angriffs
-    protected long minTimeBetweenAttack = 1500000000; //Zeit in ns zwischen zwei Angriffen (1 s = 1.000.000.000 ns)
 
     protected boolean paintWeapon = true; //Wird standartmäßig als wahr angenommen
-    protected Rectangle2D.Double weapon;
-    protected boolean attacking;
 
-    public Enemy(double x, double y, Behavior behavior, Direction viewingDirection) {
-        this.x = x;
-        this.y = y;
-        this.behavior = behavior;
-        this.viewingDirection = viewingDirection;
-        walkCount = 0;
+    protected Enemy(double x, double y, double width, double height, Behavior behavior, Direction viewingDirection) {
+        super(x, y, width, height);
+        setBehavior(behavior);
+        setViewingDirection(viewingDirection);
+        world.attackInterval[id] = 1500000000; //Zeit in ns zwischen zwei Angriffen (1 s = 1.000.000.000 ns)
     }
 
     /**
-     * Copy-Konstruktor
+     * Bildfolgen für Gegner, die nur stehen und gehen; im Stand wird das erste Bild gezeigt
      *
-     * @param enemy Zu kopierender Gegner
+     * @param walk1 Pfad des ersten Bildes
+     * @param walk2 Pfad des zweiten Bildes
      */
-    public Enemy(Enemy enemy) {
-        x = enemy.getX();
-        y = enemy.getY();
-        velocityX = enemy.getVelocityX();
-        velocityY = enemy.getVelocityY();
-        behavior = enemy.getBehavior();
-        viewingDirection = enemy.getViewingDirection();
-        attackRange = enemy.getAttackRange();
-        health = enemy.getHealth();
-        onGround = enemy.isOnGround();
-        hitbox = new Rectangle2D.Double(enemy.getHitbox().getX(), enemy.getHitbox().getY(),
-                enemy.getHitbox().getWidth(), enemy.getHitbox().getHeight());
-        walking = enemy.isWalking();
-        running = enemy.isRunning();
-        jumping = enemy.isJumping();
-        crouching = enemy.isCrouching();
-        walkCount = 0;
+    static Animation walking(String walk1, String walk2) {
+        int first = SpriteAtlas.getInstance().register(walk1);
+        return new Animation(Constants.ANIMATION_FRAME_DURATION, first)
+                .frames(Animation.WALK, first, SpriteAtlas.getInstance().register(walk2));
     }
 
     public Behavior getBehavior() {
-        return behavior;
+        return BEHAVIORS[world.behavior[id]];
     }
 
     public void setBehavior(Behavior behavior) {
-        this.behavior = behavior;
+        world.behavior[id] = behavior.ordinal();
     }
 
     public double getViewingRange() {
-        return viewingRange;
+        return world.viewingRange[id];
     }
 
     public double getAttackRange() {
-        return attackRange;
+        return world.attackRange[id];
     }
 
     public int getWorthiness() {
         return worthiness;
     }
 
-    @Override
-    public String getImagePath() {
-        return "";
-    }
-
-    public String getWeaponImagePath(boolean attacking) {
-        return attacking ? "images/sword/sword_giant_strike.png" : "images/sword/sword_giant.png";
+    public int getWeaponSpriteHandle(boolean attacking) {
+        return attacking ? SWORD_STRIKE : SWORD;
     }
 
-    protected int walkCount;
-
     //Für die Regulierung der Angriffe
     public long getLastAttackTime() {
-        return lastAttackTime;
+        return world.lastAttackTime[id];
     }
 
     public void setLastAttackTime(long lastAttackTime) {
-        this.lastAttackTime = lastAttackTime;
+        world.lastAttackTime[id] = lastAttackTime;
     }
 
     public long getMinTimeBetweenAttack() {
-        return minTimeBetweenAttack;
+        return world.attackInterval[id];
+    }
+
+    /**
+     * @return Art der Fernwaffe, siehe ProjectileSystem, oder ProjectileSystem.NONE
+     */
+    public int getProjectile() {
+        return ProjectileSystem.NONE;
     }
 
     public boolean hasSword() {
         return paintWeapon;
     }
 
+    /**
+     * @return Lage der Waffe; leitet sich aus Position, Blickrichtung und Hitbox ab
+     */
     public Rectangle2D.Double getWeapon() {
-        return weapon;
+        return new Rectangle2D.Double();
     }
 
     public boolean isAttacking() {
-        return attacking;
+        return is(World.ATTACKING);
     }
 
     public void setAttacking(boolean attacking) {
-        this.attacking = attacking;
+        set(World.ATTACKING, attacking);
     }
 }
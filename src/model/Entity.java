@@ -1,60 +1,105 @@
 package model;
 
 import logic.Collidable;
-import util.SoundUtil;
+import util.EventBus;
 
 import java.awt.geom.Rectangle2D;
 
+/**
+ * Dünne Sicht auf eine Figur in einer World. Alle veränderlichen Werte liegen in den Komponentenfeldern
+ * der World unter der Id dieser Figur; bis die Figur einem Level hinzugefügt wird, lebt sie in einer
+ * eigenen kleinen World.
+ */
 public abstract class Entity implements Collidable {
-    protected double x, y;
-    protected double velocityX, velocityY;
-    Rectangle2D.Double hitbox;
-
-    int health;
-    int strength;
-    boolean walking;
-    boolean running;
-    boolean jumping;
-    boolean crouching;
-    boolean onGround;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    World world;
+    int id;
+
     boolean paintHealth = true; //wird standartmäßig als wahr angenommen
-    Direction viewingDirection;
+
+    protected Entity(double x, double y, double width, double height) {
+        world = new World(1);
+        id = world.allocate(this);
+        world.x[id] = x;
+        world.y[id] = y;
+        world.width[id] = width;
+        world.height[id] = height;
+    }
 
     @Override
     public Rectangle2D.Double getHitbox() {
-        return hitbox;
+        return new Rectangle2D.Double(world.getLeft(id), world.getTop(id), world.width[id], world.height[id]);
+    }
+
+    @Override
+    public double getLeft() {
+        return world.getLeft(id);
+    }
+
+    @Override
+    public double getTop() {
+        return world.getTop(id);
+    }
+
+    @Override
+    public double getRight() {
+        return world.getRight(id);
+    }
+
+    @Override
+    public double getBottom() {
+        return world.getBottom(id);
+    }
+
+    /**
+     * @return Die World, in deren Feldern die Figur gerade liegt
+     */
+    public World getWorld() {
+        return world;
     }
 
+    /**
+     * @return Index der Figur in den Komponentenfeldern ihrer World; ändert sich, wenn Figuren entfernt werden
+     */
+    public int getId() {
+        return id;
+    }
 
     /**
      * Ausführung der Bewegung in Abhängigkeit der Geschwindigkeitskomponenten
      */
     public void move() {
-        this.x += velocityX;
-        this.y += velocityY;
-        hitbox.setRect(hitbox.getX() + velocityX, hitbox.getY() + velocityY, hitbox.getWidth(), hitbox.getHeight());
+        world.x[id] += world.velocityX[id];
+        world.y[id] += world.velocityY[id];
     }
 
     public double getX() {
-        return x;
+        return world.x[id];
     }
 
     public void setX(double x) {
-        this.x = x;
-        hitbox.setRect(x - hitbox.getWidth() / 2, hitbox.getY(), hitbox.getWidth(), hitbox.getHeight());
+        world.x[id] = x;
     }
 
     public double getY() {
-        return y;
+        return world.y[id];
     }
 
     public void setY(double y) {
-        this.y = y;
-        hitbox.setRect(hitbox.getX(), y - hitbox.getHeight(), hitbox.getWidth(), hitbox.getHeight());
+        world.y[id] = y;
+    }
+
+    boolean is(int flag) {
+        return world.is(id, flag);
+    }
+
+    void set(int flag, boolean value) {
+        world.set(id, flag, value);
     }
 
     public int getHealth() {
-        return health;
+        return world.health[id];
     }
 
     public int getMaxHealth() {
@@ -65,95 +110,112 @@ public abstract class Entity implements Collidable {
      * @param damage Hinzuzufügender Schaden
      */
     public void suffer(int damage) {
-        health -= damage;
-        new Thread(() -> SoundUtil.playEffect("hit")).start();
+        world.health[id] -= damage;
+        world.publish(EventBus.DAMAGE, damage, id);
     }
 
     public int getStrength() {
-        return strength;
+        return world.strength[id];
     }
 
     public boolean isDead() {
-        return getHealth() <= 0 || y > 1000;
+        return getHealth() <= 0 || getY() > 1000;
     }
 
     public boolean isWalking() {
-        return walking;
+        return is(World.WALKING);
     }
 
     public void setWalking(boolean walking) {
-        this.walking = walking;
+        set(World.WALKING, walking);
     }
 
     public boolean isRunning() {
-        return running;
+        return is(World.RUNNING);
     }
 
     public void setRunning(boolean running) {
-        this.running = running;
+        set(World.RUNNING, running);
     }
 
     public boolean isJumping() {
-        return jumping;
+        return is(World.JUMPING);
     }
 
     public void setJumping(boolean jumping) {
-        this.jumping = jumping;
+        set(World.JUMPING, jumping);
     }
 
     public boolean isCrouching() {
-        return crouching;
+        return is(World.CROUCHING);
     }
 
     public void setCrouching(boolean crouching) {
-        this.crouching = crouching;
+        set(World.CROUCHING, crouching);
     }
 
     public Direction getViewingDirection() {
-        return viewingDirection;
+        return DIRECTIONS[world.direction[id]];
     }
 
     public void setViewingDirection(Direction viewingDirection) {
-        this.viewingDirection = viewingDirection;
+        world.direction[id] = viewingDirection.ordinal();
     }
 
     public double getVelocityX() {
-        return velocityX;
+        return world.velocityX[id];
     }
 
     public void addVelocityX(double velocityX) {
-        this.velocityX += velocityX;
+        world.velocityX[id] += velocityX;
     }
 
     public void multiplyVelocityX(double factor) {
-        velocityX *= factor;
+        world.velocityX[id] *= factor;
     }
 
     public void setVelocityX(double velocityX) {
-        this.velocityX = velocityX;
+        world.velocityX[id] = velocityX;
     }
 
     public double getVelocityY() {
-        return velocityY;
+        return world.velocityY[id];
     }
 
     public void addVelocityY(double velocityY) {
-        this.velocityY += velocityY;
+        world.velocityY[id] += velocityY;
     }
 
     public void setVelocityY(double velocityY) {
-        this.velocityY = velocityY;
+        world.velocityY[id] = velocityY;
     }
 
     public boolean isOnGround() {
-        return onGround;
+        return is(World.ON_GROUND);
     }
 
     public void setOnGround(boolean onGround) {
-        this.onGround = onGround;
+        set(World.ON_GROUND, onGround);
+    }
+
+    /**
+     * Legt die Bildfolgen der Figur fest und zeigt sofort das Bild im Stand
+     *
+     * @param animation Die einmal pro Figurenart angelegte Animation
+     */
+    protected void setAnimation(Animation animation) {
+        world.animation[id] = animation;
+        world.animationState[id] = Animation.STAND;
+        world.animationTime[id] = 0;
+        world.sprite[id] = animation.getSprite(Animation.STAND, 0);
     }
 
-    public abstract String getImagePath();
+    /**
+     * @return Handle des aktuell zu zeichnenden Sprites im SpriteAtlas, vom Animator bestimmt
+     */
+    public int getSpriteHandle() {
+        return world.sprite[id];
+    }
 
     public boolean paintHealth() {
         return paintHealth;
@@ -161,7 +223,7 @@ public abstract class Entity implements Collidable {
 
     @Override
     public String toString() {
-        return "(" + x + ", " + y + ") " + ": health = " + health + ", walking = " + walking +
-                ", running = " + running + ", jumping = " + jumping + ", crouching = " + crouching;
+        return "(" + getX() + ", " + getY() + ") " + ": health = " + getHealth() + ", walking = " + isWalking() +
+                ", running = " + isRunning() + ", jumping = " + isJumping() + ", crouching = " + isCrouching();
     }
 }
@@ -7,6 +7,8 @@ import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Modellklasse für Bodenelemente
@@ -15,8 +17,13 @@ import java.io.IOException;
 
 public class Ground implements Collidable {
     private double x, y;
+    public static final int TILE_SIZE = 64; // Kantenlänge einer (hochskalierten) Texturkachel
+    public static final int STRIP_WIDTH = 8 * TILE_SIZE; // Breite der vorgekachelten Streifen
+
+    private static final Map<Type, BufferedImage> strips = new EnumMap<>(Type.class);
+    private static final Map<Type, BufferedImage> grassStrips = new EnumMap<>(Type.class);
+
     private final Ground.Type type;
-    private Image image;
 
     public enum Type {
         SOIL, GRASS, ROCK, SAND, GRAVEL
@@ -47,54 +54,64 @@ public class Ground implements Collidable {
         this.y = y;
     }
 
-    public Image getImage() {
-        if (image == null) {
-            String path = "images/grounds/";
-            switch (type) {
-                case SOIL:
-                    path += "soil.png";
-                    break;
-                case ROCK:
-                    path += "rock.png";
-                    break;
-                case GRASS:
-                    path += "soil.png";
-                    break;
-                case SAND:
-                    path += "sand.png";
-                    break;
-                case GRAVEL:
-                    path += "gravel.png";
-                    break;
-            }
+    /**
+     * @return Gekachelter Streifen der Bodentextur, aus dem der Renderer den Boden zusammensetzt
+     */
+    public BufferedImage getStrip() {
+        return getStrip(type == Type.GRASS ? Type.SOIL : type, false);
+    }
+
+    /**
+     * @return Streifen für die oberste Kachelreihe; bei Grasboden mit Grasnarbe
+     */
+    public BufferedImage getTopStrip() {
+        return getStrip(type == Type.GRASS ? Type.SOIL : type, type == Type.GRASS);
+    }
 
-            BufferedImage texture = null;
+    /**
+     * Die Streifen werden pro Bodentyp nur einmal erzeugt und von allen Böden gemeinsam genutzt,
+     * statt für jeden Boden ein Bild in voller Größe vorzuhalten
+     */
+    private static synchronized BufferedImage getStrip(Type type, boolean grass) {
+        Map<Type, BufferedImage> cache = grass ? grassStrips : strips;
+        BufferedImage strip = cache.get(type);
+        if (strip == null) {
+            strip = ImageUtil.createCompatibleImage(STRIP_WIDTH, TILE_SIZE, Transparency.TRANSLUCENT);
+            Graphics2D g = strip.createGraphics();
             try {
-                texture = ImageUtil.getImage(path);
+                g.setPaint(new TexturePaint(ImageUtil.getImage(getTexturePath(type)), new Rectangle(0, 0, TILE_SIZE, TILE_SIZE)));
+                g.fillRect(0, 0, STRIP_WIDTH, TILE_SIZE);
+                if (grass) {
+                    g.setPaint(new TexturePaint(ImageUtil.getImage("images/grounds/grass.png"), new Rectangle(0, 0, TILE_SIZE, TILE_SIZE)));
+                    g.fillRect(0, 0, STRIP_WIDTH, TILE_SIZE);
+                }
             } catch (IOException e) {
                 e.printStackTrace();
+            } finally {
+                g.dispose();
             }
-            TexturePaint paint = new TexturePaint(texture, new Rectangle(0, 0, 64, 64));
-
-            BufferedImage result = new BufferedImage((int) hitbox.getWidth(), (int) hitbox.getHeight(), BufferedImage.TYPE_INT_ARGB);
-            Graphics2D h = result.createGraphics();
-            h.setPaint(paint);
-            h.fillRect(0, 0, result.getWidth(), result.getHeight());
-
-            if (type == Type.GRASS) {
-                BufferedImage texture2 = null;
-                try {
-                    texture2 = ImageUtil.getImage("images/grounds/grass.png");
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-                TexturePaint paint2 = new TexturePaint(texture2, new Rectangle(0, 0, 64, 64));
-                h.setPaint(paint2);
-                h.fillRect(0, 0, result.getWidth(), 64);
-            }
-            image = result;
+            cache.put(type, strip);
+        }
+        return strip;
+    }
+
+    private static String getTexturePath(Type type) {
+        String path = "images/grounds/";
+        switch (type) {
+            case ROCK:
+                path += "rock.png";
+                break;
+            case SAND:
+                path += "sand.png";
+                break;
+            case GRAVEL:
+                path += "gravel.png";
+                break;
+            default:
+                path += "soil.png";
+                break;
         }
-        return image;
+        return path;
     }
 
     @Override
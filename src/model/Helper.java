@@ -2,46 +2,32 @@ package model;
 
 import logic.Behavior;
 import util.Constants;
+import util.SpriteAtlas;
 
 import java.awt.geom.Rectangle2D;
 
 
 public class Helper extends Enemy {
-    private final double HELPER_WIDTH = 90;
-    private final double HELPER_HEIGHT = 148;
+    private static final Animation ANIMATION = walking("images/enemies/enemy_skeleton_walk_1.png",
+            "images/enemies/enemy_skeleton_walk_2.png");
+
+    private static final double HELPER_WIDTH = 90;
+    private static final double HELPER_HEIGHT = 148;
 
     public Helper(double x, double y, Behavior behavior, Direction viewingDirection) {
-        super(x, y, behavior, viewingDirection);
-        hitbox = new Rectangle2D.Double(x - HELPER_WIDTH / 2, y - HELPER_HEIGHT, HELPER_WIDTH, HELPER_HEIGHT);
-        viewingRange = Constants.HELPER_VIEWING_RANGE;
-        attackRange = Constants.HELPER_ATTACK_RANGE;
-        minTimeBetweenAttack = Constants.HELPER_ATTACK_INTERVAL;
-        health = getMaxHealth();
+        super(x, y, HELPER_WIDTH, HELPER_HEIGHT, behavior, viewingDirection);
+        world.viewingRange[id] = Constants.HELPER_VIEWING_RANGE;
+        world.attackRange[id] = Constants.HELPER_ATTACK_RANGE;
+        world.attackInterval[id] = Constants.HELPER_ATTACK_INTERVAL;
+        world.health[id] = getMaxHealth();
         worthiness = Constants.HELPER_WORTHINESS;
-        strength = Constants.HELPER_STRENGTH;
-        weapon = new Rectangle2D.Double(x, y - hitbox.getHeight() + 5, 0, 0);
-    }
-
-    @Override
-    public void move() {
-        super.move();
-        weapon.setRect(viewingDirection.equals(Direction.RIGHT) ? x - 3 : x + 3 - weapon.getWidth(), y - hitbox.getHeight() + 5, weapon.getWidth(), weapon.getHeight());
-    }
-
-    public String getImagePath() {
-        if (walking) {
-            if (walkCount < 25) {
-                return "images/enemies/enemy_skeleton_walk_1.png";
-            } else {
-                return "images/enemies/enemy_skeleton_walk_2.png";
-            }
-        }
-        return "images/enemies/enemy_skeleton_walk_1.png";
+        world.strength[id] = Constants.HELPER_STRENGTH;
+        setAnimation(ANIMATION);
     }
 
     @Override
-    public String getWeaponImagePath(boolean attacking) {
-        return "images/none.png";
+    public int getWeaponSpriteHandle(boolean attacking) {
+        return SpriteAtlas.NONE;
     }
 
     @Override
@@ -56,9 +42,9 @@ public class Helper extends Enemy {
 
     @Override
     public Rectangle2D.Double getWeapon() {
-        if (crouching) {
-            return new Rectangle2D.Double(weapon.x, weapon.y - 15, weapon.getWidth(), weapon.getHeight());
-        }
-        return weapon;
+        double x = getX(), y = getY() - world.height[id] + 5;
+        if (isCrouching())
+            y -= 15;
+        return new Rectangle2D.Double(getViewingDirection().equals(Direction.RIGHT) ? x - 3 : x + 3, y, 0, 0);
     }
 }
\ No newline at end of file
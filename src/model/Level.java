@@ -3,45 +3,85 @@ package model;
 import util.ImageUtil;
 import util.List;
 
-import java.awt.image.BufferedImage;
+import java.awt.Dimension;
 import java.io.IOException;
 
 public class Level {
     private final List<Enemy> enemies;
     private final List<Obstacle> obstacles;
     private final List<Ground> grounds; // Liste von Bodenelementen
+    private final List<Cross> crosses; // Einsammelbare Kreuze, siehe TriggerSystem
+    private final World world = new World(); // Komponenten aller Figuren, siehe World
     private final String backgroundFilePath;
     private final int basescore;
+    private final int number; // Nummer des Levels, z.B. für die Telemetrie
     private double length; // Länge des Levels in px
 
-    public Level(List<Enemy> enemies, List<Obstacle> obstacles, List<Ground> grounds,
-                 String backgroundFilePath, int basescore) {
+    public Level(List<Enemy> enemies, List<Obstacle> obstacles, List<Ground> grounds, List<Cross> crosses,
+                 String backgroundFilePath, int basescore, int number) {
         this.enemies = enemies;
         this.obstacles = obstacles;
         this.grounds = grounds;
+        this.crosses = crosses;
+        for (Enemy enemy : enemies)
+            world.add(enemy);
         //Damit niemand flüchten kann!
         this.grounds.add(new Ground(-300, 600, 788, Ground.Type.SOIL));
 
         this.backgroundFilePath = backgroundFilePath;
         this.basescore = basescore;
+        this.number = number;
 
         try {
-            BufferedImage image = ImageUtil.getImage(backgroundFilePath);
-            length = (740.0 / (double) image.getHeight()) * (double) image.getWidth();
+            // Nur der Header wird gelesen, das Bild selbst dekodiert erst der Renderer
+            Dimension size = ImageUtil.getImageSize(backgroundFilePath);
+            length = (740.0 / size.getHeight()) * size.getWidth();
         } catch (IOException e) {
             e.printStackTrace();
         }
 
     }
 
+    /**
+     * @return Die Gegner; wird vom Update-Thread verändert und darf nur dort durchlaufen werden
+     */
     public List<Enemy> getEnemies() {
         return enemies;
     }
 
+
+    /**
+     * Fügt während des Spiels einen Gegner hinzu
+     *
+     * @param enemy Der neue Gegner
+     */
+    public void spawn(Enemy enemy) {
+        enemies.add(enemy);
+        world.add(enemy);
+    }
+
+    /**
+     * Entfernt einen Gegner, z.B. weil er tot ist
+     *
+     * @param enemy Der zu entfernende Gegner
+     */
+    public void remove(Enemy enemy) {
+        enemies.remove(enemy);
+        world.remove(enemy);
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
     public List<Obstacle> getObstacles() {
         return obstacles;
     }
 
+    public List<Cross> getCrosses() {
+        return crosses;
+    }
+
     public List<Ground> getGrounds() {
         return grounds;
     }
@@ -57,4 +97,8 @@ public class Level {
     public int getBasescore() {
         return basescore;
     }
+
+    public int getNumber() {
+        return number;
+    }
 }
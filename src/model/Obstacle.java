@@ -32,5 +32,8 @@ public abstract class Obstacle implements Collidable {
         return hitbox;
     }
 
-    public abstract String getImagePath();
+    /**
+     * @return Handle des Sprites im SpriteAtlas
+     */
+    public abstract int getSpriteHandle();
 }
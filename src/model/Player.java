@@ -1,126 +1,80 @@
 package model;
 
 import util.Constants;
+import util.EventBus;
+import util.SpriteAtlas;
 
 import java.awt.geom.Rectangle2D;
 
 public class Player extends Entity {
-    private final double PLAYER_WIDTH = 90;
-    private final double PLAYER_HEIGHT = 160;
+    private static final Animation ANIMATION = new Animation(Constants.ANIMATION_FRAME_DURATION,
+            SpriteAtlas.getInstance().register("images/char/char_stand.png"))
+            .frames(Animation.WALK, SpriteAtlas.getInstance().register("images/char/char_walk_1.png"),
+                    SpriteAtlas.getInstance().register("images/char/char_walk_2.png"))
+            .frames(Animation.CROUCH, SpriteAtlas.getInstance().register("images/char/char_walk_crouch_1.png"))
+            .frames(Animation.CROUCH_WALK, SpriteAtlas.getInstance().register("images/char/char_walk_crouch_1.png"),
+                    SpriteAtlas.getInstance().register("images/char/char_walk_crouch_2.png"))
+            .frames(Animation.JUMP, SpriteAtlas.getInstance().register("images/char/char_jump.png"));
+    private static final int SWORD = SpriteAtlas.getInstance().register("images/sword/sword_giant.png");
+    private static final int SWORD_STRIKE = SpriteAtlas.getInstance().register("images/sword/sword_giant_strike.png");
+
+    private static final double PLAYER_WIDTH = 90;
+    private static final double PLAYER_HEIGHT = 160;
     private final double SWORD_WIDTH = 128;
     private final double SWORD_HEIGHT = 128;
 
-    private Rectangle2D.Double sword;
-    private int walkCount;
     private double stamina;
     private boolean exhausted;
+    private int bowCharge; // Updates, die der Bogen schon gespannt wird; 0 falls nicht
 
     private int score;
+    private int kills; // Getötete Gegner
+    private int crosses; // Eingesammelte Kreuze
 
     public Player(double x, double y) {
-        this.x = x;
-        this.y = y;
-        velocityX = 0;
-        velocityY = 0;
-        health = getMaxHealth();
-        strength = Constants.PLAYER_STRENGTH;
-        onGround = true;
+        super(x, y, PLAYER_WIDTH, PLAYER_HEIGHT);
+        world.health[id] = getMaxHealth();
+        world.strength[id] = Constants.PLAYER_STRENGTH;
+        setOnGround(true);
         stamina = Constants.PLAYER_MAX_STAMINA;
-        viewingDirection = Direction.RIGHT;
-        hitbox = new Rectangle2D.Double(x - PLAYER_WIDTH / 2, y - PLAYER_HEIGHT, PLAYER_WIDTH, PLAYER_HEIGHT);
-        sword = new Rectangle2D.Double(x + 3, y - hitbox.getHeight() - 7, SWORD_WIDTH, SWORD_HEIGHT);
+        setViewingDirection(Direction.RIGHT);
+        setAnimation(ANIMATION);
         score = 0;
     }
 
-    /**
-     * Copy-Konstruktor für Dummy-Objekte zum Kollisionscheck
-     *
-     * @param player Der zu kopierende Spieler
-     */
-    public Player(Player player) {
-        x = player.getX();
-        y = player.getY();
-        velocityX = player.getVelocityX();
-        velocityY = player.getVelocityY();
-        onGround = player.isOnGround();
-        health = player.getHealth();
-        stamina = player.getStamina();
-        viewingDirection = player.getViewingDirection();
-        hitbox = new Rectangle2D.Double(player.getHitbox().getX(), player.getHitbox().getY(),
-                player.getHitbox().getWidth(), player.getHitbox().getHeight());
-        sword = player.getSword();
-        walking = player.isWalking();
-        running = player.isRunning();
-        jumping = player.isJumping();
-        crouching = player.isCrouching();
-    }
-
-    @Override
-    public void move() {
-        super.move();
-        sword.setRect(viewingDirection.equals(Direction.RIGHT) ? x - 3 : x + 3 - sword.getWidth(), y - hitbox.getHeight() - 7, sword.getWidth(), sword.getHeight());
-    }
-
     @Override
     public int getMaxHealth() {
         return Constants.PLAYER_MAX_HEALTH;
     }
 
+    /**
+     * @return Lage des Schwerts; leitet sich aus Position, Blickrichtung und Hitbox ab
+     */
     public Rectangle2D.Double getSword() {
-        if (crouching) {
-            return new Rectangle2D.Double(sword.x, sword.y - 15, sword.getWidth(), sword.getHeight());
-        }
-        return sword;
-    }
-
-    @Override
-    public void setWalking(boolean walking) {
-        if (walking)
-            walkCount++;
-        super.setWalking(walking);
-    }
-
-    @Override
-    public void setRunning(boolean running) {
-        if (running)
-            walkCount++;
-        super.setRunning(running);
+        double x = getX(), y = getY() - world.height[id] - 7;
+        if (isCrouching())
+            y -= 15;
+        return new Rectangle2D.Double(getViewingDirection().equals(Direction.RIGHT) ? x - 3 : x + 3 - SWORD_WIDTH, y, SWORD_WIDTH, SWORD_HEIGHT);
     }
 
     @Override
     public void setCrouching(boolean crouching) {
         double crouchingDelta = 50;
-        if (crouching && !this.crouching) {
-            hitbox.setRect(hitbox.x, hitbox.y + crouchingDelta, hitbox.width, hitbox.height - crouchingDelta);
-        } else if (!crouching && this.crouching) {
-            hitbox.setRect(hitbox.x, hitbox.y - crouchingDelta, hitbox.width, hitbox.height + crouchingDelta);
+        if (crouching && !isCrouching()) {
+            world.height[id] -= crouchingDelta;
+        } else if (!crouching && isCrouching()) {
+            world.height[id] += crouchingDelta;
         }
 
         super.setCrouching(crouching);
     }
 
-    public String getImagePath() {
-        if (crouching) {
-            if (walkCount < 25)
-                return "images/char/char_walk_crouch_1.png";
-            else {
-                if (walkCount >= 50)
-                    walkCount = 0;
-                return "images/char/char_walk_crouch_2.png";
-            }
-        }
-        if (jumping)
-            return "images/char/char_jump.png";
-        if (walking) {
-            if (walkCount < 25)
-                return "images/char/char_walk_1.png";
-            else {
-                if (walkCount >= 50)
-                    walkCount = 0;
-                return "images/char/char_walk_2.png";
-            }
-        }
-        return "images/char/char_stand.png";
+    /**
+     * @param striking Ob gerade zugeschlagen wird
+     * @return Handle des Schwert-Sprites im SpriteAtlas
+     */
+    public int getSwordSpriteHandle(boolean striking) {
+        return striking ? SWORD_STRIKE : SWORD;
     }
 
     public double getStamina() {
@@ -144,6 +98,14 @@ public class Player extends Entity {
             this.stamina = stamina;
     }
 
+    public int getBowCharge() {
+        return bowCharge;
+    }
+
+    public void setBowCharge(int bowCharge) {
+        this.bowCharge = bowCharge;
+    }
+
     public boolean isExhausted() {
         return exhausted;
     }
@@ -162,12 +124,27 @@ public class Player extends Entity {
 
     public void addScore(int score) {
         this.score += score;
+        world.publish(EventBus.SCORE, score, id);
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public void addKill() {
+        kills++;
+    }
+
+    public int getCrosses() {
+        return crosses;
+    }
+
+    public void addCross() {
+        crosses++;
     }
 
     public void addHealth(int health) {
-        this.health += health;
-        if (this.health > getMaxHealth())
-            this.health = getMaxHealth();
+        world.health[id] = Math.min(world.health[id] + health, getMaxHealth());
     }
 
     public void reset() {
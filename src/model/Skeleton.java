@@ -1,49 +1,43 @@
 package model;
 
 import logic.Behavior;
+import logic.ProjectileSystem;
 import util.Constants;
+import util.SpriteAtlas;
 
 import java.awt.geom.Rectangle2D;
 
 public class Skeleton extends Enemy {
-    private final double SKELETON_WIDTH = 90;
-    private final double SKELETON_HEIGHT = 148;
+    private static final Animation ANIMATION = walking("images/enemies/enemy_skeleton_walk_1.png",
+            "images/enemies/enemy_skeleton_walk_2.png");
+    private static final int SPEAR = SpriteAtlas.getInstance().register("images/spear/spear.png");
+    private static final int SPEAR_STRIKE = SpriteAtlas.getInstance().register("images/spear/spear_strike.png");
+
+    private static final double SKELETON_WIDTH = 90;
+    private static final double SKELETON_HEIGHT = 148;
 
     private final double SPEAR_WIDTH = 169;
     private final double SPEAR_HEIGHT = 169;
 
     public Skeleton(double x, double y, Behavior behavior, Direction viewingDirection) {
-        super(x, y, behavior, viewingDirection);
-        hitbox = new Rectangle2D.Double(x - SKELETON_WIDTH / 2, y - SKELETON_HEIGHT, SKELETON_WIDTH, SKELETON_HEIGHT);
-        viewingRange = Constants.SKELETON_VIEWING_RANGE;
-        attackRange = Constants.SKELETON_ATTACK_RANGE;
-        minTimeBetweenAttack = Constants.SKELETON_ATTACK_INTERVAL;
-        health = getMaxHealth();
+        super(x, y, SKELETON_WIDTH, SKELETON_HEIGHT, behavior, viewingDirection);
+        world.viewingRange[id] = Constants.SKELETON_VIEWING_RANGE;
+        world.attackRange[id] = Constants.SKELETON_ATTACK_RANGE;
+        world.attackInterval[id] = Constants.SKELETON_ATTACK_INTERVAL;
+        world.health[id] = getMaxHealth();
         worthiness = Constants.SKELETON_WORTHINESS;
-        strength = Constants.SKELETON_STRENGTH;
-        weapon = new Rectangle2D.Double(x - 40, y - hitbox.getHeight() + 17, SPEAR_WIDTH, SPEAR_HEIGHT);
+        world.strength[id] = Constants.SKELETON_STRENGTH;
+        setAnimation(ANIMATION);
     }
 
     @Override
-    public void move() {
-        super.move();
-        weapon.setRect(viewingDirection.equals(Direction.RIGHT) ? x - 40 : x + 40 - weapon.getWidth(), y - hitbox.getHeight() + 17, weapon.getWidth(), weapon.getHeight());
-    }
-
-    public String getImagePath() {
-        if (walking) {
-            if (walkCount < 25) {
-                return "images/enemies/enemy_skeleton_walk_1.png";
-            } else {
-                return "images/enemies/enemy_skeleton_walk_2.png";
-            }
-        }
-        return "images/enemies/enemy_skeleton_walk_1.png";
+    public int getWeaponSpriteHandle(boolean attacking) {
+        return attacking ? SPEAR_STRIKE : SPEAR;
     }
 
     @Override
-    public String getWeaponImagePath(boolean attacking) {
-        return attacking ? "images/spear/spear_strike.png" : "images/spear/spear.png";
+    public int getProjectile() {
+        return ProjectileSystem.SPEAR;
     }
 
     @Override
@@ -58,9 +52,9 @@ public class Skeleton extends Enemy {
 
     @Override
     public Rectangle2D.Double getWeapon() {
-        if (crouching) {
-            return new Rectangle2D.Double(weapon.x, weapon.y - 15, weapon.getWidth(), weapon.getHeight());
-        }
-        return weapon;
+        double x = getX(), y = getY() - world.height[id] + 17;
+        if (isCrouching())
+            y -= 15;
+        return new Rectangle2D.Double(getViewingDirection().equals(Direction.RIGHT) ? x - 40 : x + 40 - SPEAR_WIDTH, y, SPEAR_WIDTH, SPEAR_HEIGHT);
     }
 }
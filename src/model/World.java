@@ -0,0 +1,279 @@
+package model;
+
+import util.EventBus;
+import util.SpriteAtlas;
+
+import java.util.Arrays;
+
+/**
+ * Komponentenspeicher für alle beweglichen Spielfiguren eines Levels.
+ * Position, Geschwindigkeit, Hitbox, Leben, Zustand, KI-Daten und Animation liegen nicht in den Objekten, sondern
+ * in dicht gepackten primitiven Feldern, indiziert über die Id der Figur. Die Systeme in logic (Schwerkraft,
+ * Bewegung, Kollision, KI) laufen linear über diese Felder; Player, Knight &amp; Co. sind nur noch dünne
+ * Sichten darauf, die von GUI und Spielregeln weiter wie gewohnt benutzt werden.
+ * <p>
+ * Die Ids 0 bis size() - 1 sind immer belegt. Beim Entfernen rücken die folgenden Figuren auf, damit
+ * die Reihenfolge (und damit z.B. die Kollisionsreihenfolge) der Einfügereihenfolge entspricht; die Ids
+ * der Sichten werden dabei mitgeführt. Die Felder werden beim Wachsen ersetzt, Systeme holen sich die
+ * Referenzen deshalb zu Beginn jedes Durchlaufs.
+ * <p>
+ * Der Renderer liest die Felder auf dem EDT, während der Update-Thread rechnet. Deshalb wird remove nur
+ * vorgemerkt; das Aufrücken passiert gesammelt in applyRemovals, und wie add nur unter dem Monitor der
+ * World. Wer über Ids liest, ohne auf dem Update-Thread zu sein, synchronisiert auf die World.
+ */
+public class World {
+    // Bits in flags
+    public static final int WALKING = 1;
+    public static final int RUNNING = 1 << 1;
+    public static final int JUMPING = 1 << 2;
+    public static final int CROUCHING = 1 << 3;
+    public static final int ON_GROUND = 1 << 4;
+    public static final int ATTACKING = 1 << 5;
+
+    // Position (Mitte unten) und Geschwindigkeit
+    public double[] x, y, velocityX, velocityY;
+    // Hitbox, relativ zur Position: links x - width / 2, oben y - height
+    public double[] width, height;
+    public int[] health, flags;
+    public int[] direction; // Direction.ordinal()
+    // KI und Kampf
+    public int[] behavior; // Behavior.ordinal(), bei Spieler -1
+    public int[] strength;
+    public double[] viewingRange, attackRange;
+    public long[] lastAttackTime, attackInterval; // ns
+    // Animation, siehe logic.Animator
+    public Animation[] animation; // Bildfolgen der Figurenart, null falls nicht animiert
+    public int[] animationState, animationTime; // Zustand und Zeit darin in µs
+    public int[] sprite; // Aktuelles Sprite-Handle
+
+    private Entity[] entities;
+    private int size;
+    private Entity[] removals = new Entity[4]; // Vorgemerkt von remove, siehe applyRemovals
+    private int removalCount;
+    private final EventBus events; // null bei den kleinen Welten einzelner Figuren
+
+    public World() {
+        this(16, new EventBus());
+    }
+
+    World(int capacity) {
+        this(capacity, null);
+    }
+
+    private World(int capacity, EventBus events) {
+        this.events = events;
+        resize(capacity);
+    }
+
+    private void resize(int capacity) {
+        x = copy(x, capacity);
+        y = copy(y, capacity);
+        velocityX = copy(velocityX, capacity);
+        velocityY = copy(velocityY, capacity);
+        width = copy(width, capacity);
+        height = copy(height, capacity);
+        health = copy(health, capacity);
+        flags = copy(flags, capacity);
+        direction = copy(direction, capacity);
+        behavior = copy(behavior, capacity);
+        strength = copy(strength, capacity);
+        viewingRange = copy(viewingRange, capacity);
+        attackRange = copy(attackRange, capacity);
+        lastAttackTime = copy(lastAttackTime, capacity);
+        attackInterval = copy(attackInterval, capacity);
+        animation = animation == null ? new Animation[capacity] : Arrays.copyOf(animation, capacity);
+        animationState = copy(animationState, capacity);
+        animationTime = copy(animationTime, capacity);
+        sprite = copy(sprite, capacity);
+        entities = entities == null ? new Entity[capacity] : Arrays.copyOf(entities, capacity);
+    }
+
+    private static double[] copy(double[] array, int capacity) {
+        return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static int[] copy(int[] array, int capacity) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static long[] copy(long[] array, int capacity) {
+        return array == null ? new long[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    /**
+     * Reserviert den nächsten Platz; alle Komponenten sind danach 0
+     */
+    int allocate(Entity entity) {
+        if (size == entities.length)
+            resize(Math.max(16, size * 2));
+        entities[size] = entity;
+        behavior[size] = -1;
+        sprite[size] = SpriteAtlas.NONE;
+        return size++;
+    }
+
+    /**
+     * Übernimmt eine Figur samt ihrer Komponenten aus ihrer bisherigen Welt
+     *
+     * @param entity Die Figur, z.B. ein frisch erzeugter Gegner
+     */
+    public synchronized void add(Entity entity) {
+        World from = entity.world;
+        if (from == this)
+            return;
+        int source = entity.id;
+        int id = allocate(entity);
+        copy(from, source, this, id);
+        from.release(source);
+        entity.world = this;
+        entity.id = id;
+    }
+
+    /**
+     * Merkt eine Figur zum Herausnehmen vor; bis zum nächsten applyRemovals bleibt sie samt Id in den Feldern.
+     * Danach behält die Sicht ihre Werte in einer eigenen kleinen Welt und bleibt z.B. für einen letzten
+     * Frame des Renderers gültig.
+     *
+     * @param entity Die zu entfernende Figur
+     */
+    public void remove(Entity entity) {
+        if (entity.world != this)
+            return;
+        for (int i = 0; i < removalCount; i++)
+            if (removals[i] == entity)
+                return;
+        if (removalCount == removals.length)
+            removals = Arrays.copyOf(removals, removalCount * 2);
+        removals[removalCount++] = entity;
+    }
+
+    /**
+     * Nimmt alle vorgemerkten Figuren heraus und lässt die übrigen aufrücken; einmal pro Update, an einer
+     * Stelle, an der kein System gerade über die Ids läuft
+     */
+    public void applyRemovals() {
+        if (removalCount == 0)
+            return; // Vorgemerkt wird nur auf dem Update-Thread, dafür braucht es keinen Monitor
+        synchronized (this) {
+            for (int i = 0; i < removalCount; i++) {
+                Entity entity = removals[i];
+                removals[i] = null;
+                if (entity.world == this)
+                    new World(1).add(entity);
+            }
+            removalCount = 0;
+        }
+    }
+
+    private void release(int id) {
+        int moved = size - id - 1;
+        if (moved > 0) {
+            System.arraycopy(x, id + 1, x, id, moved);
+            System.arraycopy(y, id + 1, y, id, moved);
+            System.arraycopy(velocityX, id + 1, velocityX, id, moved);
+            System.arraycopy(velocityY, id + 1, velocityY, id, moved);
+            System.arraycopy(width, id + 1, width, id, moved);
+            System.arraycopy(height, id + 1, height, id, moved);
+            System.arraycopy(health, id + 1, health, id, moved);
+            System.arraycopy(flags, id + 1, flags, id, moved);
+            System.arraycopy(direction, id + 1, direction, id, moved);
+            System.arraycopy(behavior, id + 1, behavior, id, moved);
+            System.arraycopy(strength, id + 1, strength, id, moved);
+            System.arraycopy(viewingRange, id + 1, viewingRange, id, moved);
+            System.arraycopy(attackRange, id + 1, attackRange, id, moved);
+            System.arraycopy(lastAttackTime, id + 1, lastAttackTime, id, moved);
+            System.arraycopy(attackInterval, id + 1, attackInterval, id, moved);
+            System.arraycopy(animation, id + 1, animation, id, moved);
+            System.arraycopy(animationState, id + 1, animationState, id, moved);
+            System.arraycopy(animationTime, id + 1, animationTime, id, moved);
+            System.arraycopy(sprite, id + 1, sprite, id, moved);
+            System.arraycopy(entities, id + 1, entities, id, moved);
+            for (int i = id; i < size - 1; i++)
+                entities[i].id = i;
+        }
+        animation[size - 1] = null;
+        entities[--size] = null;
+    }
+
+    private static void copy(World from, int source, World to, int target) {
+        to.x[target] = from.x[source];
+        to.y[target] = from.y[source];
+        to.velocityX[target] = from.velocityX[source];
+        to.velocityY[target] = from.velocityY[source];
+        to.width[target] = from.width[source];
+        to.height[target] = from.height[source];
+        to.health[target] = from.health[source];
+        to.flags[target] = from.flags[source];
+        to.direction[target] = from.direction[source];
+        to.behavior[target] = from.behavior[source];
+        to.strength[target] = from.strength[source];
+        to.viewingRange[target] = from.viewingRange[source];
+        to.attackRange[target] = from.attackRange[source];
+        to.lastAttackTime[target] = from.lastAttackTime[source];
+        to.attackInterval[target] = from.attackInterval[source];
+        to.animation[target] = from.animation[source];
+        to.animationState[target] = from.animationState[source];
+        to.animationTime[target] = from.animationTime[source];
+        to.sprite[target] = from.sprite[source];
+    }
+
+    /**
+     * @param id Id der Figur
+     * @return Die Sicht zur Id, z.B. für seltene Ereignisse wie Treffer
+     */
+    public Entity get(int id) {
+        return entities[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Die Ereignisse dieser World oder null, falls die World nur eine einzelne Figur verwahrt
+     */
+    public EventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Veröffentlicht ein Ereignis zu einer Figur an ihrer Position, sofern die World Ereignisse hat
+     */
+    void publish(int type, int value, int id) {
+        if (events != null)
+            events.publish(type, value, x[id], getTop(id), behavior[id] < 0);
+    }
+
+    /**
+     * Setzt Zustandsbits einer Figur
+     */
+    public void set(int id, int flag, boolean value) {
+        if (value)
+            flags[id] |= flag;
+        else
+            flags[id] &= ~flag;
+    }
+
+    public boolean is(int id, int flag) {
+        return (flags[id] & flag) != 0;
+    }
+
+    public double getLeft(int id) {
+        return x[id] - width[id] / 2;
+    }
+
+    public double getTop(int id) {
+        return y[id] - height[id];
+    }
+
+    public double getRight(int id) {
+        return x[id] + width[id] / 2;
+    }
+
+    /**
+     * @return Unterkante der Hitbox, entspricht y
+     */
+    public double getBottom(int id) {
+        return y[id];
+    }
+}
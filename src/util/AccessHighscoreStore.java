@@ -0,0 +1,60 @@
+package util;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Das ursprüngliche Backend: UCanAccess über highscores.accdb
+ */
+public class AccessHighscoreStore implements HighscoreStore {
+    private static final String SELECT_ALL = String.format("SELECT %s, %s, %s FROM %s;",
+            Constants.DB_COLLUM_NAME, Constants.DB_COLLUM_SCORE, Constants.DB_COLLUM_DATE, Constants.DB_TABLE);
+    // Access kennt kein Upsert, die HSQLDB hinter UCanAccess aber schon; der höhere Score gewinnt
+    private static final String UPSERT_SCORE = String.format("MERGE INTO %1$s h " +
+                    "USING (VALUES(CAST(? AS VARCHAR(255)), CAST(? AS INTEGER), CAST(? AS DATE))) AS v(n, s, d) " +
+                    "ON h.%2$s = v.n " +
+                    "WHEN MATCHED THEN UPDATE SET h.%4$s = CASE WHEN h.%3$s < v.s THEN v.d ELSE h.%4$s END, " +
+                    "h.%3$s = CASE WHEN h.%3$s < v.s THEN v.s ELSE h.%3$s END " +
+                    "WHEN NOT MATCHED THEN INSERT (%2$s, %3$s, %4$s) VALUES (v.n, v.s, v.d);",
+            Constants.DB_TABLE, Constants.DB_COLLUM_NAME, Constants.DB_COLLUM_SCORE, Constants.DB_COLLUM_DATE);
+
+    @Override
+    public Collection<Highscore> loadAll() throws IOException {
+        try {
+            return DBConnection.getInstance().query(SELECT_ALL, resultSet -> {
+                Collection<Highscore> highscores = new ArrayList<>();
+                while (resultSet.next())
+                    highscores.add(new Highscore(resultSet.getString(Constants.DB_COLLUM_NAME),
+                            resultSet.getInt(Constants.DB_COLLUM_SCORE),
+                            resultSet.getDate(Constants.DB_COLLUM_DATE)));
+                return highscores;
+            });
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Highscore> highscores) throws IOException {
+        Collection<Object[]> rows = new ArrayList<>();
+        for (Highscore highscore : highscores)
+            rows.add(new Object[]{highscore.getName(), highscore.getScore(),
+                    new java.sql.Date(highscore.getDate().getTime())});
+        try {
+            DBConnection.getInstance().updateBatch(UPSERT_SCORE, rows);
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            DBConnection.getInstance().close();
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+}
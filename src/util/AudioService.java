@@ -0,0 +1,356 @@
+package util;
+
+import gui.SettingsView;
+import paulscode.sound.SoundSystem;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Abspielen der Soundeffekte über einen einzigen Audio-Thread.
+ * Spiellogik und EDT legen nur einen Befehl in eine begrenzte, lock-freie Warteschlange und kehren sofort
+ * zurück; der Audio-Thread arbeitet die Befehle nacheinander gegen das SoundSystem ab. Jeder Effekt hat
+ * mehrere vorab angelegte Quellen, damit sich überlappende Effekte nicht gegenseitig abschneiden.
+ * <p>
+ * Damit viele Gegner den Mixer nicht überfluten, gilt ein Budget: Gleiche Effekte innerhalb von MERGE_WINDOW
+ * werden zu einem zusammengefasst, und es klingen höchstens MAX_VOICES Stimmen gleichzeitig. Ist das Budget
+ * erschöpft, wird die Stimme mit der niedrigsten Priorität und bei Gleichstand die älteste gestohlen,
+ * sofern sie nicht wichtiger ist als der neue Effekt.
+ * <p>
+ * Treffer und eingesammelte Kreuze meldet die Simulation nicht direkt, sondern als Ereignisse im EventBus
+ * des Levels; der Audio-Thread holt sie selbst ab und macht daraus Effekte.
+ */
+public class AudioService {
+    static final int VOICES = 4; // Quellen pro Effekt
+    private static final int MAX_VOICES = 8; // Gleichzeitig klingende Stimmen über alle Effekte
+    private static final long MERGE_WINDOW = 30_000_000L; // ns, in denen gleiche Effekte zusammengefasst werden
+    private static final int QUEUE_CAPACITY = 256; // Muss eine Zweierpotenz sein
+    private static final int PLAY = 0, STOP = 1; // Befehlsarten, liegen über dem Effekt-Index im Befehl
+    private static final int OPERATION_SHIFT = 16;
+    private static final long EVENT_POLL_INTERVAL = 5_000_000L; // ns, so oft sieht der Audio-Thread nach Ereignissen
+    // ns, die eine Stimme nach play() auch ohne playing() als belegt gilt; paulscode startet sie erst im eigenen Thread
+    private static final long VOICE_STARTUP = 100_000_000L;
+
+    private static AudioService instance;
+    private final CommandQueue queue = new CommandQueue(QUEUE_CAPACITY);
+    private final Map<String, Integer> effects = new HashMap<>();
+    private AtomicLong[] lastRequest = new AtomicLong[0]; // Zeitpunkt der letzten angenommenen Anforderung pro Effekt
+    private SoundSystem soundSystem;
+    private volatile Thread thread;
+    private EventBus eventBus;
+    private volatile EventBus.Consumer events;
+    private final EventBus.Handler eventHandler = this::onEvent;
+
+    // Nur vom Audio-Thread benutzt
+    private String[][] voices = new String[0][];
+    private long[][] voiceStart = new long[0][]; // Startzeitpunkt pro Stimme, 0 falls frei
+    private boolean[][] voiceHeard = new boolean[0][]; // Ob playing() die Stimme seit dem Start schon bestätigt hat
+    private int[] priorities = new int[0];
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong played = new AtomicLong();
+    private final AtomicLong stolen = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private AudioService() {
+    }
+
+    public static synchronized AudioService getInstance() {
+        if (instance == null)
+            instance = new AudioService();
+        return instance;
+    }
+
+    /**
+     * Startet den Audio-Thread, sobald alle Quellen angelegt sind
+     *
+     * @param soundSystem Das initialisierte SoundSystem
+     * @param names       Namen der Effekte; für jeden existieren die Quellen voiceName(name, 0 .. VOICES - 1)
+     * @param priorities  Priorität pro Effekt, höher ist wichtiger
+     */
+    synchronized void start(SoundSystem soundSystem, String[] names, int[] priorities) {
+        if (thread != null)
+            return;
+        this.soundSystem = soundSystem;
+        this.priorities = priorities.clone();
+        voices = new String[names.length][VOICES];
+        voiceStart = new long[names.length][VOICES];
+        voiceHeard = new boolean[names.length][VOICES];
+        lastRequest = new AtomicLong[names.length];
+        for (int i = 0; i < names.length; i++) {
+            effects.put(names[i], i);
+            lastRequest[i] = new AtomicLong(System.nanoTime() - MERGE_WINDOW);
+            for (int j = 0; j < VOICES; j++)
+                voices[i][j] = voiceName(names[i], j);
+        }
+        Thread thread = new Thread(this::run, "Audio");
+        thread.setDaemon(true);
+        this.thread = thread;
+        thread.start();
+    }
+
+    static String voiceName(String effect, int voice) {
+        return effect + "#" + voice;
+    }
+
+    /**
+     * Spielt einen Effekt ab, ohne den aufrufenden Thread zu blockieren
+     *
+     * @param name Name des Effekts
+     */
+    public void play(String name) {
+        submit(PLAY, name);
+    }
+
+    /**
+     * Hält alle Stimmen eines Effekts an
+     *
+     * @param name Name des Effekts
+     */
+    public void stop(String name) {
+        submit(STOP, name);
+    }
+
+    /**
+     * Hört ab jetzt auf die Ereignisse eines Levels; die Anmeldung am vorherigen wird aufgehoben
+     *
+     * @param eventBus Die Ereignisse des laufenden Levels oder null
+     */
+    public synchronized void listen(EventBus eventBus) {
+        if (this.eventBus != null)
+            this.eventBus.unsubscribe(events);
+        this.eventBus = eventBus;
+        // Ohne Audio-Thread würde niemand abholen und der Verbraucher den Erzeuger aufhalten
+        events = eventBus == null || thread == null ? null : eventBus.subscribe();
+        if (thread != null)
+            LockSupport.unpark(thread); // Schläft ohne Zeitlimit, solange kein Level lief
+    }
+
+    private void submit(int operation, String name) {
+        Thread thread = this.thread;
+        if (thread == null)
+            return; // Sound noch nicht initialisiert
+        Integer effect = effects.get(name);
+        if (effect == null) {
+            System.err.println("Unbekannter Soundeffekt: " + name);
+            return;
+        }
+        if (operation == PLAY && !accept(effect))
+            return;
+        if (!queue.offer(operation << OPERATION_SHIFT | effect))
+            dropped.incrementAndGet(); // Lieber einen Effekt auslassen, als das Spiel warten zu lassen
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Zählt eine Anforderung und prüft, ob sie nicht in einer gerade erst angenommenen aufgeht
+     */
+    private boolean accept(int effect) {
+        requested.incrementAndGet();
+        // Innerhalb des Fensters zählt nur die erste Anforderung, der Rest geht in ihr auf
+        AtomicLong last = lastRequest[effect];
+        long now = System.nanoTime(), previous = last.get();
+        if (now - previous < MERGE_WINDOW || !last.compareAndSet(previous, now)) {
+            merged.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void run() {
+        while (true) {
+            EventBus.Consumer events = this.events;
+            if (events != null)
+                events.poll(eventHandler);
+            int command = queue.poll();
+            if (command < 0) {
+                // Nur während eines Levels muss regelmäßig nach Ereignissen gesehen werden; sonst wecken
+                // erst submit oder listen den Thread wieder
+                if (events != null)
+                    LockSupport.parkNanos(this, EVENT_POLL_INTERVAL);
+                else
+                    LockSupport.park(this);
+                continue;
+            }
+            int effect = command & ((1 << OPERATION_SHIFT) - 1);
+            try {
+                if (command >>> OPERATION_SHIFT == PLAY) {
+                    playVoice(effect);
+                } else {
+                    for (int i = 0; i < VOICES; i++) {
+                        soundSystem.stop(voices[effect][i]);
+                        voiceStart[effect][i] = 0;
+                    }
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void onEvent(int type, int value, double x, double y, boolean player) {
+        Integer effect;
+        switch (type) {
+            case EventBus.DAMAGE:
+                effect = effects.get("hit");
+                break;
+            case EventBus.PICKUP:
+                effect = effects.get("cross");
+                break;
+            default:
+                return;
+        }
+        if (effect == null || !accept(effect))
+            return;
+        try {
+            playVoice(effect);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void playVoice(int effect) {
+        // Ausgeklungene Stimmen freigeben und die klingenden zählen. Eine gerade gestartete Stimme meldet
+        // playing() erst, wenn paulscode den Befehl abgearbeitet hat; bis dahin gilt sie trotzdem als belegt.
+        long now = System.nanoTime();
+        int active = 0;
+        for (int i = 0; i < voices.length; i++) {
+            for (int j = 0; j < VOICES; j++) {
+                if (voiceStart[i][j] != 0) {
+                    if (soundSystem.playing(voices[i][j]))
+                        voiceHeard[i][j] = true;
+                    else if (voiceHeard[i][j] || now - voiceStart[i][j] > VOICE_STARTUP)
+                        voiceStart[i][j] = 0;
+                }
+                if (voiceStart[i][j] != 0)
+                    active++;
+            }
+        }
+
+        // Freie Stimme des Effekts, sonst seine älteste
+        int voice = 0;
+        for (int j = 0; j < VOICES; j++) {
+            if (voiceStart[effect][j] == 0 || voiceStart[effect][j] < voiceStart[effect][voice])
+                voice = j;
+            if (voiceStart[effect][j] == 0)
+                break;
+        }
+        boolean free = voiceStart[effect][voice] == 0;
+
+        if (free && active >= MAX_VOICES) {
+            // Budget erschöpft: niedrigste Priorität zuerst, bei Gleichstand die älteste Stimme
+            int victimEffect = -1, victimVoice = -1;
+            for (int i = 0; i < voices.length; i++) {
+                for (int j = 0; j < VOICES; j++) {
+                    if (voiceStart[i][j] == 0)
+                        continue;
+                    if (victimEffect < 0 || priorities[i] < priorities[victimEffect]
+                            || priorities[i] == priorities[victimEffect] && voiceStart[i][j] < voiceStart[victimEffect][victimVoice]) {
+                        victimEffect = i;
+                        victimVoice = j;
+                    }
+                }
+            }
+            if (priorities[victimEffect] > priorities[effect]) {
+                dropped.incrementAndGet(); // Alles, was klingt, ist wichtiger
+                return;
+            }
+            soundSystem.stop(voices[victimEffect][victimVoice]);
+            voiceStart[victimEffect][victimVoice] = 0;
+            stolen.incrementAndGet();
+        } else if (!free) {
+            // Alle Stimmen des Effekts klingen noch, die älteste wird neu gestartet
+            soundSystem.stop(voices[effect][voice]);
+            stolen.incrementAndGet();
+        }
+
+        soundSystem.setVolume(voices[effect][voice], SettingsView.getInstance().getEffectVolume());
+        soundSystem.play(voices[effect][voice]);
+        voiceStart[effect][voice] = System.nanoTime();
+        voiceHeard[effect][voice] = false;
+        played.incrementAndGet();
+    }
+
+    public long getRequested() {
+        return requested.get();
+    }
+
+    public long getMerged() {
+        return merged.get();
+    }
+
+    public long getPlayed() {
+        return played.get();
+    }
+
+    public long getStolen() {
+        return stolen.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Begrenzte Warteschlange für int-Befehle mit beliebig vielen Erzeugern und genau einem Verbraucher.
+     * Jeder Platz trägt eine Sequenznummer, an der Erzeuger und Verbraucher erkennen, ob er frei bzw.
+     * belegt ist; Erzeuger reservieren ihren Platz per compareAndSet, es gibt keine Sperren.
+     */
+    static class CommandQueue {
+        private final int mask;
+        private final int[] commands;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private long head; // Nur vom Verbraucher benutzt
+
+        CommandQueue(int capacity) {
+            if (Integer.bitCount(capacity) != 1)
+                throw new IllegalArgumentException("Kapazität muss eine Zweierpotenz sein");
+            mask = capacity - 1;
+            commands = new int[capacity];
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++)
+                sequences.set(i, i);
+        }
+
+        /**
+         * @return false, falls die Warteschlange voll ist
+         */
+        boolean offer(int command) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        commands[index] = command;
+                        sequences.set(index, position + 1); // Veröffentlicht den Befehl
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        /**
+         * @return Der nächste Befehl oder -1, falls die Warteschlange leer ist
+         */
+        int poll() {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1)
+                return -1;
+            int command = commands[index];
+            sequences.set(index, head + mask + 1); // Gibt den Platz für die nächste Runde frei
+            head++;
+            return command;
+        }
+    }
+}
@@ -28,6 +28,8 @@ public class Constants {
     public static final String PROPERTY_CONTROL_MODE = "alt-control-mode";
     public static final String PROPERTY_MUSIC_VOLUME = "music-volume";
     public static final String PROPERTY_EFFECT_VOLUME = "effect-volume";
+    public static final String PROPERTY_HIGHSCORE_STORE = "highscore-store"; // "access" oder "log"
+    public static final String PROPERTY_PARTICLE_BUDGET = "particle-budget";
 
     // Spielmechanik
     public static final int UPDATE_CLOCK = 60;
@@ -36,23 +38,29 @@ public class Constants {
     public static final double PLAYER_WALK_VELOCITY = 2.5;
     public static final double PLAYER_INITIAL_JUMP_VELOCITY = 20;
     public static final double GRAVITATIONAL_ACCELERATION = 0.5;
+    public static final int ANIMATION_FRAME_DURATION = 25 * 1_000_000 / UPDATE_CLOCK; // µs pro Bild beim Gehen
 
     // Tastatur
     public static final int KEY_RUN = KeyEvent.VK_SHIFT;
     public static final int KEY_MENU = KeyEvent.VK_ESCAPE;
     public static final int KEY_DEBUG = KeyEvent.VK_F1;
+    public static final int KEY_VOLLEY = KeyEvent.VK_F2; // Nur im Debug-Modus: Pfeilhagel zum Belastungstest
+    public static final int KEY_FEWER_PARTICLES = KeyEvent.VK_F3; // Nur im Debug-Modus: Partikelbudget halbieren
+    public static final int KEY_MORE_PARTICLES = KeyEvent.VK_F4; // Nur im Debug-Modus: Partikelbudget verdoppeln
 
     public static final int KEY_LEFT_DEFAULT = KeyEvent.VK_A;
     public static final int KEY_RIGHT_DEFAULT = KeyEvent.VK_D;
     public static final int KEY_JUMP_DEFAULT = KeyEvent.VK_W;
     public static final int KEY_CROUCH_DEFAULT = KeyEvent.VK_S;
     public static final int KEY_STRIKE_DEFAULT = KeyEvent.VK_ENTER;
+    public static final int KEY_SHOOT_DEFAULT = KeyEvent.VK_F;
 
     public static final int ALT_KEY_LEFT = KeyEvent.VK_LEFT;
     public static final int ALT_KEY_RIGHT = KeyEvent.VK_RIGHT;
     public static final int ALT_KEY_JUMP = KeyEvent.VK_UP;
     public static final int ALT_KEY_CROUCH = KeyEvent.VK_DOWN;
     public static final int ALT_KEY_STRIKE = KeyEvent.VK_SPACE;
+    public static final int ALT_KEY_SHOOT = KeyEvent.VK_CONTROL;
 
     //Balancing-Werte (Zur einfacheren Verwaltung hier vorzufinden)
     //Player
@@ -85,14 +93,30 @@ public class Constants {
     public static final long HELPER_ATTACK_INTERVAL = (long) (1000000000 * 1.5);
 
     //Cross
-    public static final int CROSS_MAX_HEALTH = 1;
     public static final int CROSS_WORTHINESS = 25;
-    public static final double CROSS_VIEWING_RANGE = 0;
-    public static final int CROSS_STRENGTH = 0;
-    public static final double CROSS_ATTACK_RANGE = 0;
-    public static final long CROSS_ATTACK_INTERVAL = (long) (1000000000 * 1.5);
 
-    static {
+    //Projektile
+    public static final int PROJECTILE_CAPACITY = 8192; //Höchstens gleichzeitig fliegende Pfeile und Speere
+    public static final double PROJECTILE_GRAVITY = 0.25; //Anteil der Schwerkraft, der auf Projektile wirkt
+    public static final int PROJECTILE_LIFETIME = 10 * UPDATE_CLOCK; //Updates, bis ein Projektil verschwindet
+    public static final double ARROW_VELOCITY = 24; //Abschussgeschwindigkeit bei voll gespanntem Bogen in px pro Update
+    public static final int ARROW_DAMAGE = 60; //Brandpfeile aus voll gespanntem Bogen machen doppelten Schaden
+    public static final int BOW_CHARGE_TIME = 45; //Updates, bis der Bogen voll gespannt ist
+    public static final double BOW_STAMINA = 40; //Ausdauer pro Schuss
+    public static final double SPEAR_VELOCITY = 12; //Horizontale Wurfgeschwindigkeit in px pro Update
+    public static final int SPEAR_DAMAGE = 100;
+    public static final long SPEAR_THROW_INTERVAL = (long) (1000000000 * 3.0); //Minimale Zeit zwischen zwei Würfen
+    public static final int VOLLEY_SIZE = 1000; //Pfeile pro Pfeilhagel im Debug-Modus
+
+    //Partikel
+    public static final int PARTICLE_CAPACITY = 1 << 16; //Obergrenze für das Budget
+    public static final int PARTICLE_BUDGET = 20000; //Gleichzeitig lebende Partikel, falls nicht in den Einstellungen
+    public static final double LANDING_VELOCITY = 8; //Ab dieser Fallgeschwindigkeit wirbelt eine Landung Staub auf
+
+    /**
+     * Registriert die Schriftart Pixel Operator; muss vor dem ersten Zeichnen mit DEFAULT_FONT passieren
+     */
+    public static void registerFont() {
         try {
             GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
             ge.registerFont(Font.createFont(Font.TRUETYPE_FONT, ClassLoader.getSystemResourceAsStream("PixelOperator.ttf")));
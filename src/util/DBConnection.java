@@ -1,10 +1,30 @@
 package util;
 
 import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Zugriff auf die Highscore-Datenbank über eine einzige, langlebige Verbindung.
+ * UCanAccess lädt beim Öffnen die komplette Access-Datei in eine HSQLDB im Speicher,
+ * deshalb wird die Verbindung erst beim ersten Zugriff geöffnet und danach offen gehalten.
+ */
 public class DBConnection {
+    private static final String URL = "jdbc:ucanaccess://highscores.accdb";
+    private static final int VALIDATION_TIMEOUT = 2; // Sekunden für den Health-Check
+    private static final long VALIDATION_INTERVAL = 30_000_000_000L; // Nur alle 30 s wird die Verbindung geprüft
+
     private static DBConnection instance;
+    private final Map<String, PreparedStatement> statementCache = new HashMap<>();
     private Connection connection;
+    private long lastValidation;
+
+    /**
+     * Verarbeitung eines ResultSets, solange Statement und Verbindung noch gültig sind
+     */
+    public interface ResultMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
 
     private DBConnection() {
         try {
@@ -14,34 +34,124 @@ public class DBConnection {
         }
     }
 
-    public static DBConnection getInstance() {
+    public static synchronized DBConnection getInstance() {
         if (instance == null)
             instance = new DBConnection();
         return instance;
     }
 
-    public ResultSet query(String query) throws SQLException {
-        open();
-        PreparedStatement statement = connection.prepareStatement(query);
-        ResultSet rs = statement.executeQuery();
-        statement.close();
-        close();
-        return rs;
+    /**
+     * Ausführen einer Abfrage mit gebundenen Parametern
+     *
+     * @param sql        SQL mit ?-Platzhaltern
+     * @param mapper     Verarbeitet das Ergebnis; das ResultSet ist nur innerhalb des Mappers gültig
+     * @param parameters Werte für die Platzhalter in der gegebenen Reihenfolge
+     * @return Das Ergebnis des Mappers
+     * @throws SQLException bei Problemen mit der Datenbank
+     */
+    public synchronized <T> T query(String sql, ResultMapper<T> mapper, Object... parameters) throws SQLException {
+        try (ResultSet resultSet = prepare(sql, parameters).executeQuery()) {
+            return mapper.map(resultSet);
+        }
+    }
+
+    /**
+     * Ausführen einer Änderung (INSERT, UPDATE, DELETE) mit gebundenen Parametern
+     *
+     * @param sql        SQL mit ?-Platzhaltern
+     * @param parameters Werte für die Platzhalter in der gegebenen Reihenfolge
+     * @return Anzahl der betroffenen Zeilen
+     * @throws SQLException bei Problemen mit der Datenbank
+     */
+    public synchronized int update(String sql, Object... parameters) throws SQLException {
+        return prepare(sql, parameters).executeUpdate();
+    }
+
+    /**
+     * Ausführen derselben Änderung für mehrere Parametersätze in einer einzigen Transaktion
+     *
+     * @param sql  SQL mit ?-Platzhaltern
+     * @param rows Ein Parametersatz pro Ausführung
+     * @return Anzahl der betroffenen Zeilen pro Parametersatz
+     * @throws SQLException bei Problemen mit der Datenbank; die Transaktion wird dann zurückgerollt
+     */
+    public synchronized int[] updateBatch(String sql, Iterable<Object[]> rows) throws SQLException {
+        Connection connection = getConnection();
+        PreparedStatement statement = prepare(sql);
+        connection.setAutoCommit(false);
+        try {
+            for (Object[] row : rows) {
+                bind(statement, row);
+                statement.addBatch();
+            }
+            int[] result = statement.executeBatch();
+            connection.commit();
+            return result;
+        } catch (SQLException e) {
+            statement.clearBatch();
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Öffnet die Verbindung vorab, damit der erste echte Zugriff nicht auf UCanAccess warten muss
+     *
+     * @throws SQLException falls die Datenbank nicht geöffnet werden kann
+     */
+    public synchronized void open() throws SQLException {
+        getConnection();
+    }
+
+    public synchronized void close() throws SQLException {
+        if (connection == null)
+            return;
+        for (PreparedStatement statement : statementCache.values()) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                e.printStackTrace(); // Die Verbindung wird trotzdem geschlossen
+            }
+        }
+        statementCache.clear();
+        try {
+            connection.close();
+        } finally {
+            connection = null;
+        }
     }
 
-    public void update(String update) throws SQLException {
-        open();
-        PreparedStatement statement = connection.prepareStatement(update);
-        statement.executeUpdate();
-        statement.close();
-        close();
+    private PreparedStatement prepare(String sql, Object... parameters) throws SQLException {
+        Connection connection = getConnection();
+        PreparedStatement statement = statementCache.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statementCache.put(sql, statement);
+        }
+        bind(statement, parameters);
+        return statement;
     }
 
-    public void open() throws SQLException {
-        connection = DriverManager.getConnection("jdbc:ucanaccess://highscores.accdb");
+    private static void bind(PreparedStatement statement, Object... parameters) throws SQLException {
+        statement.clearParameters();
+        for (int i = 0; i < parameters.length; i++)
+            statement.setObject(i + 1, parameters[i]);
     }
 
-    public void close() throws SQLException {
-        connection.close();
+    private Connection getConnection() throws SQLException {
+        if (connection != null && System.nanoTime() - lastValidation > VALIDATION_INTERVAL) {
+            if (connection.isClosed() || !connection.isValid(VALIDATION_TIMEOUT)) {
+                System.err.println("Datenbankverbindung ungültig, wird neu geöffnet");
+                close();
+            }
+            lastValidation = System.nanoTime();
+        }
+        if (connection == null) {
+            connection = DriverManager.getConnection(URL);
+            lastValidation = System.nanoTime();
+        }
+        return connection;
     }
 }
@@ -0,0 +1,154 @@
+package util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ringpuffer für Spielereignisse wie Schaden, Tod, Einsammeln, Punkte und Landungen, nach dem Vorbild eines
+ * Disruptors mit genau einem Erzeuger. Der Erzeuger ist der Update-Thread; er schreibt die Felder eines
+ * Ereignisses in vorab angelegte primitive Felder und veröffentlicht es über eine Sequenznummer, ohne etwas
+ * anzulegen und ohne auf jemanden zu warten.
+ * <p>
+ * Verbraucher (Audio, HUD, ...) melden sich mit subscribe an und holen die Ereignisse in ihrem eigenen Takt
+ * und auf ihrem eigenen Thread ab. Der Erzeuger überschreibt nie, was ein Verbraucher noch nicht gelesen
+ * hat; hinkt ein Verbraucher eine ganze Pufferlänge hinterher, wird das neue Ereignis verworfen und gezählt,
+ * statt die Simulation anzuhalten.
+ */
+public class EventBus {
+    // Ereignisarten
+    public static final int DAMAGE = 0; // Wert: Schaden
+    public static final int DEATH = 1; // Wert: Punkte des getöteten Gegners
+    public static final int PICKUP = 2; // Wert: Punkte des eingesammelten Objekts
+    public static final int SCORE = 3; // Wert: Änderung des Scores
+    public static final int LANDING = 4; // Wert: Aufprallgeschwindigkeit, Position: Füße
+
+    private static final int CAPACITY = 1024; // Muss eine Zweierpotenz sein
+    private static final int MASK = CAPACITY - 1;
+
+    private final int[] types = new int[CAPACITY];
+    private final int[] values = new int[CAPACITY];
+    private final double[] xs = new double[CAPACITY];
+    private final double[] ys = new double[CAPACITY];
+    private final boolean[] players = new boolean[CAPACITY];
+
+    private final AtomicLong cursor = new AtomicLong(-1); // Zuletzt veröffentlichte Sequenz
+    private volatile Consumer[] consumers = new Consumer[0];
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Nur vom Erzeuger benutzt
+    private long next;
+    private long gate = -1; // Zwischengespeicherte Position des langsamsten Verbrauchers
+
+    /**
+     * Empfänger der Ereignisse beim Abholen; die Werte sind nur während des Aufrufs gültig
+     */
+    public interface Handler {
+        /**
+         * @param type   Ereignisart, z.B. DAMAGE
+         * @param value  Schaden bzw. Punkte, siehe Ereignisart
+         * @param x      x-Position des Geschehens
+         * @param y      y-Position des Geschehens
+         * @param player Ob der Spieler betroffen ist
+         */
+        void onEvent(int type, int value, double x, double y, boolean player);
+    }
+
+    /**
+     * Veröffentlicht ein Ereignis. Darf nur vom Update-Thread aufgerufen werden.
+     *
+     * @see Handler#onEvent(int, int, double, double, boolean)
+     */
+    public void publish(int type, int value, double x, double y, boolean player) {
+        long sequence = next;
+        long wrap = sequence - CAPACITY;
+        if (wrap > gate) {
+            gate = slowest(sequence - 1);
+            if (wrap > gate) {
+                dropped.incrementAndGet(); // Ein Verbraucher hängt, lieber das Ereignis verlieren
+                return;
+            }
+        }
+        int index = (int) (sequence & MASK);
+        types[index] = type;
+        values[index] = value;
+        xs[index] = x;
+        ys[index] = y;
+        players[index] = player;
+        next = sequence + 1;
+        cursor.lazySet(sequence); // Veröffentlicht das Ereignis
+    }
+
+    private long slowest(long minimum) {
+        for (Consumer consumer : consumers)
+            minimum = Math.min(minimum, consumer.sequence.get());
+        return minimum;
+    }
+
+    /**
+     * Meldet einen Verbraucher an; er sieht alle Ereignisse ab jetzt
+     *
+     * @return Der Verbraucher, über den abgeholt wird
+     */
+    public synchronized Consumer subscribe() {
+        Consumer consumer = new Consumer(cursor.get());
+        Consumer[] consumers = Arrays.copyOf(this.consumers, this.consumers.length + 1);
+        consumers[consumers.length - 1] = consumer;
+        this.consumers = consumers;
+        return consumer;
+    }
+
+    /**
+     * Meldet einen Verbraucher ab, damit er den Erzeuger nicht mehr aufhält
+     */
+    public synchronized void unsubscribe(Consumer consumer) {
+        Consumer[] consumers = this.consumers;
+        for (int i = 0; i < consumers.length; i++) {
+            if (consumers[i] == consumer) {
+                Consumer[] remaining = new Consumer[consumers.length - 1];
+                System.arraycopy(consumers, 0, remaining, 0, i);
+                System.arraycopy(consumers, i + 1, remaining, i, consumers.length - i - 1);
+                this.consumers = remaining;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Anzahl der Ereignisse, die wegen eines zu langsamen Verbrauchers verworfen wurden
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Lesezeiger eines Verbrauchers; darf jeweils nur von einem Thread benutzt werden
+     */
+    public class Consumer {
+        private final AtomicLong sequence; // Zuletzt verarbeitete Sequenz
+
+        private Consumer(long sequence) {
+            this.sequence = new AtomicLong(sequence);
+        }
+
+        /**
+         * Reicht alle seit dem letzten Aufruf veröffentlichten Ereignisse in Reihenfolge an den Handler
+         *
+         * @return Anzahl der abgeholten Ereignisse
+         */
+        public int poll(Handler handler) {
+            long available = cursor.get();
+            long current = sequence.get();
+            if (current >= available)
+                return 0;
+            int count = 0;
+            while (current < available) {
+                current++;
+                int index = (int) (current & MASK);
+                handler.onEvent(types[index], values[index], xs[index], ys[index], players[index]);
+                count++;
+            }
+            sequence.lazySet(current); // Gibt die Plätze für den Erzeuger frei
+            return count;
+        }
+    }
+}
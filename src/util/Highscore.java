@@ -0,0 +1,35 @@
+package util;
+
+import java.util.Date;
+
+/**
+ * Unveränderlicher Highscore-Eintrag, wie er in der Datenbank steht
+ */
+public class Highscore {
+    private final String name;
+    private final int score;
+    private final Date date;
+
+    public Highscore(String name, int score, Date date) {
+        this.name = name;
+        this.score = score;
+        this.date = date;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + score + " (" + date + ")";
+    }
+}
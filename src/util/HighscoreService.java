@@ -0,0 +1,75 @@
+package util;
+
+import java.util.concurrent.*;
+
+/**
+ * Dienst für Datenbankzugriffe abseits der Spielschleife und des EDT.
+ * Sämtliche Datenbankzugriffe laufen nacheinander auf einem einzigen Hintergrund-Thread,
+ * damit der letzte Frame eines Levels nicht auf UCanAccess warten muss.
+ */
+public class HighscoreService {
+    private static final int QUEUE_CAPACITY = 32; // Maximale Anzahl wartender Aufgaben
+    private static final long FLUSH_TIMEOUT = 5; // Sekunden, die beim Beenden auf ausstehende Schreibvorgänge gewartet wird
+
+    private static HighscoreService instance;
+    private final ThreadPoolExecutor executor;
+
+    private HighscoreService() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "Highscore-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized HighscoreService getInstance() {
+        if (instance == null)
+            instance = new HighscoreService();
+        return instance;
+    }
+
+    /**
+     * Aufgabe, die auf dem Datenbank-Thread ausgeführt wird
+     */
+    public interface DatabaseTask<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Reiht eine Datenbankaufgabe ein, ohne den aufrufenden Thread zu blockieren.
+     * Die Aufgaben werden strikt in der Reihenfolge ihres Eintreffens ausgeführt.
+     *
+     * @param task Auszuführende Aufgabe
+     * @return Future mit dem Ergebnis der Aufgabe
+     */
+    public <T> CompletableFuture<T> schedule(DatabaseTask<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.run());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Warteschlange voll oder Dienst bereits heruntergefahren
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Wartet beim Beenden des Programms auf alle noch ausstehenden Schreibvorgänge
+     */
+    public void flush() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(FLUSH_TIMEOUT, TimeUnit.SECONDS))
+                System.err.println("Nicht alle Highscores konnten gespeichert werden");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package util;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Speicher-Backend für die Highscores.
+ * Welches Backend verwendet wird, steht in der settings.properties unter "highscore-store".
+ */
+public interface HighscoreStore {
+    String ACCESS = "access";
+    String LOG = "log";
+
+    /**
+     * @return Sämtliche gespeicherten Highscores, höchstens einer pro Nickname
+     * @throws IOException falls der Speicher nicht gelesen werden kann
+     */
+    Collection<Highscore> loadAll() throws IOException;
+
+    /**
+     * Speichert mehrere Highscores in einem Rutsch (ein Upsert pro Nickname).
+     * Ein vorhandener Eintrag wird nur ersetzt, wenn der neue Score höher ist.
+     *
+     * @param highscores Zu speichernde Highscores, höchstens einer pro Nickname
+     * @throws IOException falls nicht geschrieben werden kann
+     */
+    void saveAll(Collection<Highscore> highscores) throws IOException;
+
+    default void save(Highscore highscore) throws IOException {
+        saveAll(Collections.singletonList(highscore));
+    }
+
+    void close() throws IOException;
+
+    /**
+     * Erzeugt das in den Einstellungen gewählte Backend
+     *
+     * @param name Name des Backends, null oder unbekannt ergibt die Access-Datenbank
+     * @return Das passende HighscoreStore-Objekt
+     */
+    static HighscoreStore create(String name) {
+        if (LOG.equals(name))
+            return new LogHighscoreStore("highscores.log");
+        return new AccessHighscoreStore();
+    }
+}
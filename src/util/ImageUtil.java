@@ -1,20 +1,29 @@
 package util;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Hilfsklasse für die einfachere Handhabung von Bildern ;)
  */
 public class ImageUtil {
     // Der Bilder-Cache; Wenn man hin- und hernavigiert, soll doch nicht jedes mal dasselbe Bild neu geladen werden ;)
-    private static final Map<String, BufferedImage> imageCache = new HashMap<>();
+    // Thread-sicher, da Levels ihre Bilder parallel im Hintergrund vorladen
+    private static final Map<String, BufferedImage> imageCache = new ConcurrentHashMap<>();
+    // Horizontal gespiegelte Varianten, damit nach links schauende Figuren ohne Transformation gezeichnet werden
+    private static final Map<String, BufferedImage> mirroredCache = new ConcurrentHashMap<>();
 
     /**
      * Der Konstruktor ist hier privat, da von dieser Klasse nie ein Objekt existieren soll.
@@ -36,11 +45,150 @@ public class ImageUtil {
             if (stream == null)
                 throw new IOException("Datei" + path + " nicht gefunden"); // Nachvollziehbarkeit von Fehlern
             BufferedImage image = ImageIO.read(stream);
-            imageCache.put(path, image);
+            if (image == null)
+                throw new IOException("Datei" + path + " ist kein lesbares Bild");
+            imageCache.put(path, toCompatibleImage(image));
         }
         return imageCache.get(path);
     }
 
+    /**
+     * Erzeugt ein leeres Bild im Format des Bildschirms, das Java2D ohne Umrechnung (und ggf. beschleunigt)
+     * zeichnen kann. Ohne Bildschirm (headless) wird auf RGB bzw. vormultipliziertes ARGB ausgewichen.
+     *
+     * @param width        Breite des Bildes
+     * @param height       Höhe des Bildes
+     * @param transparency Transparency.OPAQUE, BITMASK oder TRANSLUCENT
+     * @return Das neue Bild
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless())
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(width, height, transparency);
+    }
+
+    /**
+     * Wandelt ein von ImageIO geliefertes Bild (oft mit indiziertem oder eigenem Farbmodell) einmalig
+     * in das kompatible Format um; die Transparenz des Originals bleibt dabei erhalten.
+     * Ohne Bildschirm gibt es nichts zu beschleunigen; indizierte Bilder mit Bitmasken-Transparenz
+     * zeichnet die Software-Pipeline schneller als ARGB und bleiben deshalb, wie sie sind.
+     */
+    private static BufferedImage toCompatibleImage(BufferedImage image) {
+        if (GraphicsEnvironment.isHeadless() && image.getType() == BufferedImage.TYPE_BYTE_INDEXED
+                && image.getTransparency() == Transparency.BITMASK)
+            return image;
+        BufferedImage compatible = createCompatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+        if (compatible.getColorModel().equals(image.getColorModel()))
+            return image;
+        Graphics2D g = compatible.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return compatible;
+    }
+
+    /**
+     * Liefert das horizontal gespiegelte Bild; gespiegelt wird nur beim ersten Aufruf pro Pfad
+     *
+     * @param path Der Pfad der Bilddatei, ausgehend vom src root folder
+     * @return Das gespiegelte Bild in denselben Maßen wie das Original
+     * @throws IOException von getImage durchgeschoben
+     */
+    public static BufferedImage getMirroredImage(String path) throws IOException {
+        BufferedImage mirrored = mirroredCache.get(path);
+        if (mirrored == null) {
+            BufferedImage image = getImage(path);
+            int width = image.getWidth(), height = image.getHeight();
+            if (image.getColorModel() instanceof IndexColorModel) {
+                // Gleiches Format wie das Original, damit das gespiegelte Bild genauso schnell gezeichnet wird.
+                // Kopiert werden die Farbindizes selbst, so bleibt auch der transparente Index erhalten.
+                WritableRaster source = image.getRaster();
+                WritableRaster target = source.createCompatibleWritableRaster();
+                for (int y = 0; y < height; y++)
+                    for (int x = 0; x < width; x++)
+                        target.setSample(width - 1 - x, y, 0, source.getSample(x, y, 0));
+                mirrored = new BufferedImage(image.getColorModel(), target, image.isAlphaPremultiplied(), null);
+            } else {
+                mirrored = createCompatibleImage(width, height, image.getTransparency());
+                Graphics2D g = mirrored.createGraphics();
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(image, width, 0, -width, height, null);
+                g.dispose();
+            }
+            mirroredCache.put(path, mirrored);
+        }
+        return mirrored;
+    }
+
+    /**
+     * Abkürzung für Figuren, die je nach Blickrichtung gespiegelt gezeichnet werden
+     *
+     * @param path     Der Pfad der Bilddatei, ausgehend vom src root folder
+     * @param mirrored Ob die gespiegelte Variante gewünscht ist
+     * @return Das Original oder die gespiegelte Variante
+     * @throws IOException von getImage durchgeschoben
+     */
+    public static BufferedImage getImage(String path, boolean mirrored) throws IOException {
+        return mirrored ? getMirroredImage(path) : getImage(path);
+    }
+
+    /**
+     * Ermittelt die Maße eines Bildes, ohne es zu dekodieren; es wird nur der Header gelesen
+     *
+     * @param path Der Pfad der Bilddatei, ausgehend vom src root folder
+     * @return Breite und Höhe des Bildes
+     * @throws IOException falls die Datei nicht gefunden oder nicht gelesen werden kann
+     */
+    public static Dimension getImageSize(String path) throws IOException {
+        BufferedImage cached = imageCache.get(path);
+        if (cached != null)
+            return new Dimension(cached.getWidth(), cached.getHeight());
+        return readImage(path, reader -> new Dimension(reader.getWidth(0), reader.getHeight(0)));
+    }
+
+    /**
+     * Dekodiert nur einen Ausschnitt eines Bildes; das Ergebnis wird nicht gecached.
+     * Gedacht für sehr große Bilder wie Level-Hintergründe, die nie komplett im Speicher liegen sollen.
+     *
+     * @param path   Der Pfad der Bilddatei, ausgehend vom src root folder
+     * @param region Der Ausschnitt in Bildkoordinaten
+     * @return Der dekodierte Ausschnitt
+     * @throws IOException falls die Datei nicht gefunden oder nicht gelesen werden kann
+     */
+    public static BufferedImage getImageRegion(String path, Rectangle region) throws IOException {
+        return readImage(path, reader -> {
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceRegion(region);
+            return reader.read(0, param);
+        });
+    }
+
+    private interface ReaderAction<T> {
+        T apply(ImageReader reader) throws IOException;
+    }
+
+    private static <T> T readImage(String path, ReaderAction<T> action) throws IOException {
+        InputStream stream = ClassLoader.getSystemResourceAsStream(path);
+        if (stream == null)
+            throw new IOException("Datei" + path + " nicht gefunden");
+        try (ImageInputStream input = ImageIO.createImageInputStream(stream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext())
+                throw new IOException("Kein passender ImageReader für " + path);
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return action.apply(reader);
+            } finally {
+                reader.dispose();
+            }
+        } finally {
+            stream.close();
+        }
+    }
+
     /**
      * Abstrahierte Methode für die Rückgabe eines Bildes als ImageIcon
      *
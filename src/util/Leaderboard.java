@@ -0,0 +1,203 @@
+package util;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Highscore-Tabelle im Speicher.
+ * Alle Einträge werden einmalig beim Start geladen; danach beantworten ein nach Score sortierter Index
+ * und eine Name-Eintrag-Map sämtliche Anfragen, ohne die Datenbank anzufassen.
+ * Änderungen werden gesammelt und asynchron über den HighscoreService in den gewählten HighscoreStore
+ * zurückgeschrieben, sodass auch viele Einreichungen kurz hintereinander nur wenige Transaktionen kosten.
+ */
+public class Leaderboard {
+    // Höchster Score zuerst, bei Gleichstand der ältere Eintrag, zuletzt alphabetisch
+    private static final Comparator<Highscore> RANKING = Comparator.comparingInt(Highscore::getScore).reversed()
+            .thenComparing(Highscore::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Highscore::getName);
+
+    private static Leaderboard instance;
+    private final TreeSet<Highscore> ranking = new TreeSet<>(RANKING);
+    private final Map<String, Highscore> byName = new HashMap<>();
+    private HighscoreStore store = new AccessHighscoreStore();
+    private CompletableFuture<Void> loaded;
+    private Map<String, Highscore> pending = new HashMap<>(); // Noch nicht geschriebene Einträge
+    private boolean writeScheduled;
+
+    private Leaderboard() {
+    }
+
+    public static synchronized Leaderboard getInstance() {
+        if (instance == null)
+            instance = new Leaderboard();
+        return instance;
+    }
+
+    /**
+     * Wählt das Speicher-Backend; muss vor dem ersten Laden passieren
+     *
+     * @param store Das zu verwendende Backend
+     */
+    public synchronized void setStore(HighscoreStore store) {
+        if (loaded != null)
+            throw new IllegalStateException("Highscores wurden bereits geladen");
+        this.store = store;
+    }
+
+    /**
+     * Startet das einmalige Laden aller Highscores im Hintergrund. Ist es fehlgeschlagen, z.B. weil die
+     * Datenbank gesperrt war, wird beim nächsten Aufruf erneut geladen.
+     *
+     * @return Future, das nach dem Laden abgeschlossen wird
+     */
+    public synchronized CompletableFuture<Void> load() {
+        if (loaded == null || loaded.isCompletedExceptionally())
+            loaded = HighscoreService.getInstance().schedule(this::loadAll);
+        return loaded;
+    }
+
+    /**
+     * Die besten Einträge der Rangliste
+     *
+     * @param n Maximale Anzahl an Einträgen
+     * @return Die ersten n Einträge, bester zuerst
+     * @throws java.util.concurrent.CompletionException falls die Highscores nicht geladen werden konnten
+     */
+    public List<Highscore> getTop(int n) {
+        load().join();
+        List<Highscore> top = new List<>();
+        synchronized (this) {
+            Iterator<Highscore> iterator = ranking.iterator();
+            for (int i = 0; i < n && iterator.hasNext(); i++)
+                top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /**
+     * @param name Nickname des Spielers
+     * @return Der persönliche Highscore oder null, falls der Spieler noch keinen hat
+     * @throws java.util.concurrent.CompletionException falls die Highscores nicht geladen werden konnten
+     */
+    public Highscore getPersonalBest(String name) {
+        load().join();
+        synchronized (this) {
+            return byName.get(name);
+        }
+    }
+
+    /**
+     * Trägt einen erreichten Score ein, falls er den persönlichen Highscore übertrifft.
+     * Wartet nicht auf das Laden: Eingetragen wird erst, wenn die Rangliste da ist, und die Rangliste im
+     * Speicher ist dann sofort aktuell, geschrieben wird im Hintergrund.
+     *
+     * @param name  Nickname des Spielers
+     * @param score Erreichter Score
+     * @return Future mit true, falls es ein neuer persönlicher Highscore ist; schlägt fehl, falls die
+     * Highscores nicht geladen werden konnten
+     */
+    public CompletableFuture<Boolean> submit(String name, int score) {
+        return load().thenApply(loaded -> enter(name, score));
+    }
+
+    private boolean enter(String name, int score) {
+        Highscore highscore = new Highscore(name, score, new Date());
+        boolean scheduleWrite;
+        synchronized (this) {
+            Highscore old = byName.get(name);
+            if (old != null && old.getScore() >= score)
+                return false;
+            if (old != null)
+                ranking.remove(old);
+            ranking.add(highscore);
+            byName.put(name, highscore);
+
+            // Pro Nickname wartet höchstens ein Eintrag, und zwar der mit dem höchsten Score
+            pending.merge(name, highscore, (a, b) -> a.getScore() >= b.getScore() ? a : b);
+            scheduleWrite = !writeScheduled;
+            writeScheduled = true;
+        }
+        if (scheduleWrite)
+            scheduleWrite();
+        return true;
+    }
+
+    private void scheduleWrite() {
+        HighscoreService.getInstance().schedule(this::writePending).exceptionally(e -> {
+            // Die Einträge liegen wieder in pending und werden beim nächsten Eintragen oder in close() geschrieben
+            System.err.println("Highscores konnten nicht gespeichert werden");
+            e.printStackTrace();
+            synchronized (this) {
+                writeScheduled = false;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Schließt das Backend, nachdem alle ausstehenden Schreibvorgänge erledigt sind
+     */
+    public void close() {
+        HighscoreService.getInstance().flush();
+        try {
+            boolean unsaved;
+            synchronized (this) {
+                unsaved = !pending.isEmpty();
+            }
+            if (unsaved)
+                writePending(); // Letzter Versuch für zuvor gescheiterte Schreibvorgänge
+        } catch (IOException e) {
+            System.err.println("Highscores konnten nicht gespeichert werden");
+            e.printStackTrace();
+        }
+        try {
+            store.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Schreibt alle bis hierhin aufgelaufenen Einträge gesammelt in einer Transaktion.
+     * Schlägt das fehl, kommen die Einträge zurück nach pending, ohne neuere höhere Scores zu überschreiben.
+     */
+    private Void writePending() throws IOException {
+        Collection<Highscore> batch;
+        HighscoreStore store;
+        synchronized (this) {
+            batch = pending.values();
+            pending = new HashMap<>();
+            writeScheduled = false;
+            store = this.store;
+        }
+        if (batch.isEmpty())
+            return null;
+        try {
+            store.saveAll(batch);
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                for (Highscore highscore : batch)
+                    pending.merge(highscore.getName(), highscore, (a, b) -> a.getScore() >= b.getScore() ? a : b);
+            }
+            throw e;
+        }
+        return null;
+    }
+
+    private Void loadAll() throws IOException {
+        Collection<Highscore> highscores = store.loadAll();
+        synchronized (this) {
+            for (Highscore highscore : highscores) {
+                Highscore old = byName.get(highscore.getName());
+                if (old != null && old.getScore() >= highscore.getScore())
+                    continue;
+                if (old != null)
+                    ranking.remove(old);
+                ranking.add(highscore);
+                byName.put(highscore.getName(), highscore);
+            }
+        }
+        return null;
+    }
+}
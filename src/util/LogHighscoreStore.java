@@ -0,0 +1,136 @@
+package util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Schnelles Backend ohne Datenbank: ein binäres Append-Only-Log.
+ * Jeder gespeicherte Highscore wird als Datensatz (Name, Score, Datum) ans Ende gehängt, beim Laden gewinnt
+ * der letzte Datensatz pro Nickname. Wird das Log deutlich länger als nötig, wird es neu geschrieben (Kompaktierung).
+ */
+public class LogHighscoreStore implements HighscoreStore {
+    private static final int MAGIC = 0x534B4853; // "SKHS"
+    private static final int HEADER_SIZE = 4;
+    private static final int COMPACTION_MINIMUM = 1024; // Kleine Logs werden nie kompaktiert
+    private static final int COMPACTION_FACTOR = 2; // Kompaktiert wird ab doppelt so vielen Datensätzen wie Einträgen
+
+    private final Path path;
+    private final Map<String, Highscore> entries = new HashMap<>();
+    private DataOutputStream out;
+    private int records;
+
+    public LogHighscoreStore(String fileName) {
+        path = Paths.get(fileName);
+    }
+
+    @Override
+    public synchronized Collection<Highscore> loadAll() throws IOException {
+        entries.clear();
+        records = 0;
+        boolean exists = Files.exists(path) && Files.size(path) >= HEADER_SIZE;
+        if (exists) {
+            long validLength = HEADER_SIZE;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                if (in.readInt() != MAGIC)
+                    throw new IOException(path + " ist kein Highscore-Log");
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readUnsignedShort();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    byte[] name = new byte[length];
+                    try {
+                        in.readFully(name);
+                        int score = in.readInt();
+                        long date = in.readLong();
+                        String nickname = new String(name, StandardCharsets.UTF_8);
+                        entries.put(nickname, new Highscore(nickname, score, new Date(date)));
+                    } catch (EOFException e) {
+                        // Unvollständiger letzter Datensatz, z.B. nach einem Absturz beim Schreiben
+                        break;
+                    }
+                    validLength += recordSize(length);
+                    records++;
+                }
+            }
+            if (validLength < Files.size(path)) {
+                try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                    file.setLength(validLength);
+                }
+            }
+        }
+        if (!exists || needsCompaction())
+            compact();
+        else
+            openForAppend();
+        return new ArrayList<>(entries.values());
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Highscore> highscores) throws IOException {
+        if (out == null)
+            loadAll();
+        for (Highscore highscore : highscores) {
+            Highscore old = entries.get(highscore.getName());
+            if (old != null && old.getScore() >= highscore.getScore())
+                continue;
+            entries.put(highscore.getName(), highscore);
+            write(out, highscore);
+            records++;
+        }
+        out.flush();
+        if (needsCompaction())
+            compact();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private boolean needsCompaction() {
+        return records > COMPACTION_MINIMUM && records > entries.size() * COMPACTION_FACTOR;
+    }
+
+    /**
+     * Schreibt nur die aktuellen Einträge in eine neue Datei und ersetzt das alte Log atomar
+     */
+    private void compact() throws IOException {
+        close();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream tempOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            tempOut.writeInt(MAGIC);
+            for (Highscore highscore : entries.values())
+                write(tempOut, highscore);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        records = entries.size();
+        openForAppend();
+    }
+
+    private void openForAppend() throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile(), true)));
+    }
+
+    private static void write(DataOutputStream out, Highscore highscore) throws IOException {
+        byte[] name = highscore.getName().getBytes(StandardCharsets.UTF_8);
+        out.writeShort(name.length);
+        out.write(name);
+        out.writeInt(highscore.getScore());
+        out.writeLong(highscore.getDate() != null ? highscore.getDate().getTime() : 0);
+    }
+
+    private static int recordSize(int nameLength) {
+        return 2 + nameLength + 4 + 8;
+    }
+}
@@ -0,0 +1,272 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aufzeichnung jedes einzelnen Spieldurchlaufs für das Balancing.
+ * Die Durchläufe landen als Datensätze fester Größe in einer Append-Only-Binärdatei und werden
+ * für Auswertungen über einen memory-mapped FileChannel linear durchlaufen. Geschrieben wird auf einem
+ * eigenen Thread, damit die Telemetrie nie Highscore-Schreibvorgänge aufhält.
+ */
+public class RunTelemetry {
+    private static final int MAGIC = 0x534B5254; // "SKRT"
+    private static final int HEADER_SIZE = 8; // MAGIC + RECORD_SIZE
+
+    // Aufbau eines Datensatzes (little endian)
+    private static final int OFFSET_TIME = 0; // long, Zeitpunkt des Endes in ms seit 1970
+    private static final int OFFSET_LEVEL = 8; // int
+    private static final int OFFSET_DURATION = 12; // int, ms
+    private static final int OFFSET_SCORE = 16; // int
+    private static final int OFFSET_DEATH_X = 20; // float, NaN falls der Spieler überlebt hat
+    private static final int OFFSET_KILLS = 24; // int
+    private static final int OFFSET_CROSSES = 28; // int
+    private static final int OFFSET_TICK_P50 = 32; // float, µs
+    private static final int OFFSET_TICK_P95 = 36; // float, µs
+    private static final int OFFSET_TICK_P99 = 40; // float, µs
+    static final int RECORD_SIZE = 44;
+
+    // So viele Datensätze werden höchstens auf einmal eingeblendet
+    private static final int RECORDS_PER_MAPPING = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private static final long FLUSH_TIMEOUT = 2; // Sekunden, die beim Beenden auf ausstehende Datensätze gewartet wird
+
+    private static RunTelemetry instance;
+    private final Path path;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Telemetry-Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Ein einzelner, abgeschlossener Durchlauf
+     */
+    public static class Run {
+        final int level;
+        final int duration;
+        final int score;
+        final float deathX;
+        final int kills;
+        final int crosses;
+        final TickHistogram ticks;
+
+        /**
+         * @param level    Nummer des Levels
+         * @param duration Dauer des Durchlaufs in ms
+         * @param score    Endgültiger Score
+         * @param deathX   x-Position des Todes oder NaN, falls der Spieler gewonnen hat
+         * @param kills    Anzahl getöteter Gegner
+         * @param crosses  Anzahl eingesammelter Kreuze
+         * @param ticks    Die während des Durchlaufs gemessenen Update-Zeiten
+         */
+        public Run(int level, int duration, int score, float deathX, int kills, int crosses, TickHistogram ticks) {
+            this.level = level;
+            this.duration = duration;
+            this.score = score;
+            this.deathX = deathX;
+            this.kills = kills;
+            this.crosses = crosses;
+            this.ticks = ticks;
+        }
+    }
+
+    /**
+     * Histogramm der Dauer einzelner Spiel-Updates in 10-µs-Schritten bis 100 ms.
+     * Fest allokiert, damit das Messen in der Spielschleife nichts kostet.
+     */
+    public static class TickHistogram {
+        private static final int RESOLUTION = 10_000; // ns pro Bucket
+        private final int[] buckets = new int[10_000];
+        private int count;
+
+        public void add(long nanos) {
+            buckets[(int) Math.min(nanos / RESOLUTION, buckets.length - 1)]++;
+            count++;
+        }
+
+        /**
+         * @param p Perzentil zwischen 0 und 1
+         * @return Obergrenze des Buckets, in dem das Perzentil liegt, in µs
+         */
+        public float percentile(double p) {
+            if (count == 0)
+                return 0;
+            long rank = (long) Math.ceil(p * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank)
+                    return (i + 1) * RESOLUTION / 1000f;
+            }
+            return buckets.length * RESOLUTION / 1000f;
+        }
+
+        public void clear() {
+            Arrays.fill(buckets, 0);
+            count = 0;
+        }
+    }
+
+    RunTelemetry(Path path) {
+        this.path = path;
+    }
+
+    public static synchronized RunTelemetry getInstance() {
+        if (instance == null)
+            instance = new RunTelemetry(Paths.get("telemetry.bin"));
+        return instance;
+    }
+
+    /**
+     * Hängt einen Durchlauf im Hintergrund an die Telemetrie-Datei an
+     *
+     * @param run Der abgeschlossene Durchlauf
+     */
+    public void record(Run run) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        record.putLong(OFFSET_TIME, System.currentTimeMillis());
+        record.putInt(OFFSET_LEVEL, run.level);
+        record.putInt(OFFSET_DURATION, run.duration);
+        record.putInt(OFFSET_SCORE, run.score);
+        record.putFloat(OFFSET_DEATH_X, run.deathX);
+        record.putInt(OFFSET_KILLS, run.kills);
+        record.putInt(OFFSET_CROSSES, run.crosses);
+        record.putFloat(OFFSET_TICK_P50, run.ticks.percentile(0.5));
+        record.putFloat(OFFSET_TICK_P95, run.ticks.percentile(0.95));
+        record.putFloat(OFFSET_TICK_P99, run.ticks.percentile(0.99));
+
+        writer.execute(() -> {
+            try {
+                append(record);
+            } catch (IOException e) {
+                System.err.println("Telemetrie konnte nicht geschrieben werden");
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Wartet beim Beenden des Programms auf die noch ausstehenden Datensätze
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(FLUSH_TIMEOUT, TimeUnit.SECONDS))
+                System.err.println("Nicht alle Durchläufe konnten aufgezeichnet werden");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    synchronized void append(ByteBuffer record) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            // Unvollständiger letzter Datensatz, z.B. nach einem Absturz beim Schreiben; sonst wären alle
+            // folgenden Datensätze verschoben
+            long size = channel.size();
+            long validLength = size < HEADER_SIZE ? 0 : HEADER_SIZE + (size - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+            if (validLength < size)
+                channel.truncate(validLength);
+            if (validLength == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(RECORD_SIZE).flip();
+                while (header.hasRemaining())
+                    channel.write(header);
+            }
+            record.rewind();
+            while (record.hasRemaining())
+                channel.write(record);
+        }
+    }
+
+    /**
+     * Durchschnittlicher Score pro Level
+     *
+     * @param levels Anzahl an Leveln (Levelnummern 1 bis levels)
+     * @return Feld mit dem Durchschnitt für Level i an Stelle i - 1, NaN falls es keine Durchläufe gibt
+     * @throws IOException falls die Datei nicht gelesen werden kann
+     */
+    public double[] meanScorePerLevel(int levels) throws IOException {
+        long[] sums = new long[levels];
+        long[] counts = new long[levels];
+        scan(buffer -> {
+            for (int offset = 0; offset < buffer.limit(); offset += RECORD_SIZE) {
+                int level = buffer.getInt(offset + OFFSET_LEVEL) - 1;
+                if (level < 0 || level >= levels)
+                    continue;
+                sums[level] += buffer.getInt(offset + OFFSET_SCORE);
+                counts[level]++;
+            }
+        });
+        double[] means = new double[levels];
+        for (int i = 0; i < levels; i++)
+            means[i] = counts[i] == 0 ? Double.NaN : (double) sums[i] / counts[i];
+        return means;
+    }
+
+    /**
+     * Wo sterben die Spieler? Anzahl der Tode pro x-Abschnitt eines Levels
+     *
+     * @param level       Nummer des Levels
+     * @param bucketWidth Breite eines Abschnitts in px
+     * @param length      Länge des Levels in px
+     * @return Anzahl der Tode pro Abschnitt, beginnend bei x = 0
+     * @throws IOException falls die Datei nicht gelesen werden kann
+     */
+    public int[] deathHeatmap(int level, int bucketWidth, double length) throws IOException {
+        int[] heatmap = new int[(int) Math.ceil(length / bucketWidth) + 1];
+        scan(buffer -> {
+            for (int offset = 0; offset < buffer.limit(); offset += RECORD_SIZE) {
+                if (buffer.getInt(offset + OFFSET_LEVEL) != level)
+                    continue;
+                float deathX = buffer.getFloat(offset + OFFSET_DEATH_X);
+                if (Float.isNaN(deathX))
+                    continue;
+                int bucket = (int) (deathX / bucketWidth);
+                heatmap[Math.max(0, Math.min(bucket, heatmap.length - 1))]++;
+            }
+        });
+        return heatmap;
+    }
+
+    private interface ChunkVisitor {
+        void visit(MappedByteBuffer records);
+    }
+
+    /**
+     * Blendet die Datensätze blockweise ein; ein unvollständiger letzter Datensatz wird ignoriert
+     */
+    private void scan(ChunkVisitor visitor) throws IOException {
+        if (!Files.exists(path))
+            return;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE)
+                return;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != RECORD_SIZE)
+                throw new IOException(path + " ist keine gültige Telemetrie-Datei");
+
+            long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+            for (long first = 0; first < records; first += RECORDS_PER_MAPPING) {
+                long count = Math.min(RECORDS_PER_MAPPING, records - first);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * RECORD_SIZE, count * RECORD_SIZE);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                visitor.visit(buffer);
+            }
+        }
+    }
+}
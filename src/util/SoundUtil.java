@@ -1,12 +1,14 @@
 package util;
 
 import gui.SettingsView;
+import paulscode.sound.SoundBuffer;
 import paulscode.sound.SoundSystem;
 import paulscode.sound.SoundSystemConfig;
 import paulscode.sound.SoundSystemException;
 import paulscode.sound.codecs.CodecJOrbis;
 import paulscode.sound.libraries.LibraryJavaSound;
 
+import java.net.URL;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static paulscode.sound.SoundSystemConfig.addLibrary;
@@ -15,8 +17,12 @@ import static paulscode.sound.SoundSystemConfig.setCodec;
 public class SoundUtil {
 
     public static SoundSystem soundSystem;
+    private static volatile String preparedTrack; // Vorbereitetes nächstes Musikstück oder null
 
     public static final String MUSIC_SOURCE = "music";
+    private static final String MUSIC_PATH = "sounds/background/";
+    private static final String[] EFFECTS = {"buttonclick", "sword_attack", "hit", "cross", "death", "victory"};
+    private static final int[] PRIORITIES = {1, 1, 2, 2, 3, 3}; // Tod und Sieg vor Treffern vor Schwertschwüngen
 
     public static void init() {
         SoundSystemConfig.setLogger(new NoLogger());
@@ -29,16 +35,40 @@ public class SoundUtil {
         soundSystem = new SoundSystem();
 
         //Quellen für jeden Sound
-        register("buttonclick", "sounds/buttonclick.ogg", "buttonclick.ogg");
-        register("sword_attack", "sounds/sword_attack.ogg", "sword_attack.ogg");
-        register("hit", "sounds/hit.ogg", "hit.ogg");
-        register("cross", "sounds/cross.ogg", "cross.ogg");
-        register("death", "sounds/death.ogg", "death.ogg");
-        register("victory", "sounds/victory.ogg", "victory.ogg");
+        for (String effect : EFFECTS)
+            register(effect, "sounds/" + effect + ".ogg", effect + ".ogg");
+        AudioService.getInstance().start(soundSystem, EFFECTS, PRIORITIES);
+    }
+
+    /**
+     * Wählt schon in der Lobby das nächste Musikstück und legt seine Streaming-Quelle an, damit der Levelstart
+     * nur noch play aufrufen muss. Dekodiert wird erst beim Abspielen, im Streaming-Thread von paulscode.
+     * Darf außerhalb des EDT laufen.
+     */
+    public static void prefetchBackgroundMusic() {
+        if (soundSystem == null)
+            return; // Sound noch nicht initialisiert, der Levelstart lädt dann wie bisher selbst
+        String track = randomTrack();
+        soundSystem.newStreamingSource(true, MUSIC_SOURCE, ClassLoader.getSystemResource(MUSIC_PATH + track), track,
+                true, 0F, 0F, 0F, SoundSystemConfig.ATTENUATION_NONE, 0F);
+        preparedTrack = track;
     }
 
     public static void playRandomBackgroundMusic() {
-        String f = "sounds/background/";
+        String track = preparedTrack;
+        boolean prepared = track != null;
+        preparedTrack = null;
+        if (prepared) {
+            soundSystem.play(MUSIC_SOURCE);
+        } else {
+            track = randomTrack();
+            soundSystem.backgroundMusic(MUSIC_SOURCE,
+                    ClassLoader.getSystemResource(MUSIC_PATH + track), track, true);
+        }
+        soundSystem.setVolume(MUSIC_SOURCE, SettingsView.getInstance().getMusicVolume());
+    }
+
+    private static String randomTrack() {
         String s = "";
         switch (ThreadLocalRandom.current().nextInt(1, 7)) {
             case 1:
@@ -60,27 +90,45 @@ public class SoundUtil {
                 s = "the_last_stand.ogg";
                 break;
         }
-        soundSystem.backgroundMusic(MUSIC_SOURCE,
-                ClassLoader.getSystemResource(f + s), s, true);
-        soundSystem.setVolume(MUSIC_SOURCE, SettingsView.getInstance().getMusicVolume());
+        return s;
+    }
+
+    /**
+     * Methode, um einzelne, kurze (!) Soundeffekte abzuspielen.
+     * Blockiert nie: Der Effekt wird nur beim AudioService eingereiht und dort auf einer freien Stimme abgespielt.
+     *
+     * @param effect Name des Effekts, z.B. "hit"
+     */
+    public static void playEffect(String effect) {
+        AudioService.getInstance().play(effect);
     }
 
-    /*
-    * Methode, um einzelne, kurze (!) Soundeffekte abzuspielen.
-    * Werden Soundeffekte zu schnell nacheinander abgespielt, werden manche Sounds ausgelassen.
-    * Evtl sollte man dieses System nochmal überdenken ...
-    * */
-    public static void playEffect(String sourcename) {
-        if (soundSystem.playing(sourcename))
-            soundSystem.stop(sourcename);
-        soundSystem.cull(sourcename);
-        soundSystem.activate(sourcename);
-        soundSystem.setVolume(sourcename, SettingsView.getInstance().getEffectVolume());
-        soundSystem.play(sourcename);
+    /**
+     * Hält alle Stimmen eines Effekts an
+     *
+     * @param effect Name des Effekts, z.B. "death"
+     */
+    public static void stopEffect(String effect) {
+        AudioService.getInstance().stop(effect);
     }
 
-    private static void register(String sourcename, String soundPath, String identifier) {
-        soundSystem.newSource(false, sourcename, ClassLoader.getSystemResource(soundPath),
-                identifier, false, 0F, 0F, 0F, SoundSystemConfig.ATTENUATION_NONE, 0F);
+    /**
+     * Dekodiert einen Effekt einmalig in einen PCM-Puffer im Speicher und legt seine Stimmen an.
+     * Alle Stimmen verweisen über den identifier auf denselben Puffer; beim Abspielen wird nichts mehr dekodiert.
+     */
+    private static void register(String effect, String soundPath, String identifier) {
+        URL url = ClassLoader.getSystemResource(soundPath);
+        CodecJOrbis codec = new CodecJOrbis();
+        if (codec.initialize(url)) {
+            SoundBuffer buffer = codec.readAll();
+            if (buffer != null) {
+                soundSystem.loadSound(buffer.audioData, buffer.audioFormat, identifier);
+            }
+        }
+        codec.cleanup();
+
+        for (int i = 0; i < AudioService.VOICES; i++)
+            soundSystem.newSource(false, AudioService.voiceName(effect, i), url,
+                    identifier, false, 0F, 0F, 0F, SoundSystemConfig.ATTENUATION_NONE, 0F);
     }
 }
@@ -0,0 +1,257 @@
+package util;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Texturatlas für alle Sprites des Spiels.
+ * Die Modellklassen melden ihre Bilder einmalig (in statischen Konstanten) an und bekommen dafür einen
+ * int-Handle zurück. Beim Packen landen alle angemeldeten Sprites samt gespiegelter Variante auf wenigen
+ * großen Atlasseiten; beim Zeichnen ist dann nur noch ein Feldzugriff nötig, kein Hashen von Pfaden.
+ * <p>
+ * Gepackt wird nie beim Zeichnen: Kommen nach dem Packen noch Sprites hinzu, wird im Hintergrund neu
+ * gepackt und bis dahin jedes Sprite einzeln aus dem Bild-Cache gezeichnet.
+ */
+public class SpriteAtlas {
+    public static final int NONE = -1; // Handle für "nichts zeichnen"
+
+    private static final int PAGE_SIZE = 2048;
+    private static final int PADDING = 1; // Abstand zwischen den Sprites gegen Überlaufen beim Zeichnen
+
+    // Aufbau des Index: pro Region (Handle * 2, gespiegelt + 1) Seite, x, y, Breite, Höhe
+    private static final int PAGE = 0, X = 1, Y = 2, WIDTH = 3, HEIGHT = 4, STRIDE = 5;
+
+    // Packt nachträglich angemeldete Sprites abseits des EDT
+    private static final ExecutorService packer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Atlas-Packer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static SpriteAtlas instance;
+    private final Map<String, Integer> handles = new HashMap<>();
+    private final java.util.List<String> paths = new ArrayList<>();
+    private volatile Index index = new Index(new int[0], new BufferedImage[0]);
+    private volatile boolean dirty;
+    private boolean packScheduled;
+
+    /**
+     * Unveränderlicher Stand des Atlas, damit Zeichnen und Neupacken sich nicht in die Quere kommen
+     */
+    private static class Index {
+        final int[] regions;
+        final BufferedImage[] pages;
+
+        Index(int[] regions, BufferedImage[] pages) {
+            this.regions = regions;
+            this.pages = pages;
+        }
+    }
+
+    private SpriteAtlas() {
+    }
+
+    public static synchronized SpriteAtlas getInstance() {
+        if (instance == null)
+            instance = new SpriteAtlas();
+        return instance;
+    }
+
+    /**
+     * Meldet ein Sprite an; mehrfaches Anmelden desselben Pfads liefert denselben Handle
+     *
+     * @param path Der Pfad der Bilddatei, ausgehend vom src root folder
+     * @return Der Handle, unter dem das Sprite gezeichnet wird
+     */
+    public synchronized int register(String path) {
+        Integer handle = handles.get(path);
+        if (handle == null) {
+            handle = paths.size();
+            handles.put(path, handle);
+            paths.add(path);
+            dirty = true;
+        }
+        return handle;
+    }
+
+    /**
+     * @return Die Pfade aller bisher angemeldeten Sprites, z.B. um sie vorab zu dekodieren
+     */
+    public synchronized java.util.List<String> getPaths() {
+        return new ArrayList<>(paths);
+    }
+
+    /**
+     * Packt alle bisher angemeldeten Sprites neu, falls seit dem letzten Packen welche hinzugekommen sind.
+     * Dauert einige Millisekunden und darf deshalb nicht auf dem EDT laufen.
+     */
+    public synchronized void pack() {
+        if (!dirty)
+            return;
+        int count = paths.size();
+        BufferedImage[] images = new BufferedImage[count * 2];
+        for (int i = 0; i < count; i++) {
+            try {
+                images[i * 2] = ImageUtil.getImage(paths.get(i));
+                images[i * 2 + 1] = ImageUtil.getMirroredImage(paths.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // Einfaches Regal-Packen: nach Höhe sortiert, zeilenweise von links nach rechts
+        Integer[] order = new Integer[images.length];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(height(images[b]), height(images[a])));
+
+        int[] regions = new int[images.length * STRIDE];
+        Arrays.fill(regions, -1);
+        java.util.List<BufferedImage> pages = new ArrayList<>();
+        Graphics2D g = null;
+        int shelfX = 0, shelfY = 0, shelfHeight = 0;
+        for (int region : order) {
+            BufferedImage image = images[region];
+            if (image == null)
+                continue;
+            int width = Math.min(image.getWidth(), PAGE_SIZE), height = Math.min(image.getHeight(), PAGE_SIZE);
+            if (shelfX + width > PAGE_SIZE) {
+                shelfX = 0;
+                shelfY += shelfHeight + PADDING;
+                shelfHeight = 0;
+            }
+            if (g == null || shelfY + height > PAGE_SIZE) {
+                if (g != null)
+                    g.dispose();
+                pages.add(ImageUtil.createCompatibleImage(PAGE_SIZE, PAGE_SIZE, Transparency.TRANSLUCENT));
+                g = pages.get(pages.size() - 1).createGraphics();
+                g.setComposite(AlphaComposite.Src);
+                shelfX = shelfY = shelfHeight = 0;
+            }
+            g.drawImage(image, shelfX, shelfY, null);
+            int offset = region * STRIDE;
+            regions[offset + PAGE] = pages.size() - 1;
+            regions[offset + X] = shelfX;
+            regions[offset + Y] = shelfY;
+            regions[offset + WIDTH] = width;
+            regions[offset + HEIGHT] = height;
+            shelfX += width + PADDING;
+            shelfHeight = Math.max(shelfHeight, height);
+        }
+        if (g != null)
+            g.dispose();
+
+        index = new Index(regions, pages.toArray(new BufferedImage[0]));
+        dirty = false;
+    }
+
+    /**
+     * Stößt das Neupacken im Hintergrund an, höchstens einmal gleichzeitig
+     */
+    private synchronized void schedulePack() {
+        if (packScheduled)
+            return;
+        packScheduled = true;
+        packer.execute(() -> {
+            synchronized (this) {
+                packScheduled = false;
+            }
+            pack();
+        });
+    }
+
+    private static int height(BufferedImage image) {
+        return image == null ? 0 : image.getHeight();
+    }
+
+    /**
+     * Zeichnet ein Sprite ungeskaliert
+     *
+     * @param g2       Grafikkontext
+     * @param handle   Handle aus register; bei NONE wird nichts gezeichnet
+     * @param x        Linker Rand des Ziels
+     * @param y        Oberer Rand des Ziels
+     * @param mirrored Ob die horizontal gespiegelte Variante gezeichnet werden soll
+     */
+    public void draw(Graphics2D g2, int handle, int x, int y, boolean mirrored) {
+        if (handle == NONE)
+            return;
+        if (dirty) {
+            schedulePack();
+            drawImage(g2, handle, x, y, mirrored);
+            return;
+        }
+        Index index = this.index;
+        int[] regions = index.regions;
+        int offset = (handle * 2 + (mirrored ? 1 : 0)) * STRIDE;
+        if (offset >= regions.length || regions[offset + PAGE] < 0)
+            return;
+        int width = regions[offset + WIDTH], height = regions[offset + HEIGHT];
+        int sourceX = regions[offset + X], sourceY = regions[offset + Y];
+        g2.drawImage(index.pages[regions[offset + PAGE]], x, y, x + width, y + height,
+                sourceX, sourceY, sourceX + width, sourceY + height, null);
+    }
+
+    /**
+     * Zeichnet ein Sprite einzeln aus dem Bild-Cache, solange der Atlas nicht aktuell ist
+     */
+    private void drawImage(Graphics2D g2, int handle, int x, int y, boolean mirrored) {
+        try {
+            g2.drawImage(ImageUtil.getImage(getPath(handle), mirrored), x, y, null);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized String getPath(int handle) {
+        return paths.get(handle);
+    }
+
+    private BufferedImage getImage(int handle) {
+        try {
+            return ImageUtil.getImage(getPath(handle));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public int getWidth(int handle) {
+        return dimension(handle, WIDTH);
+    }
+
+    public int getHeight(int handle) {
+        return dimension(handle, HEIGHT);
+    }
+
+    private int dimension(int handle, int field) {
+        if (handle == NONE)
+            return 0;
+        if (dirty) {
+            schedulePack();
+            BufferedImage image = getImage(handle);
+            if (image == null)
+                return 0;
+            return Math.min(field == WIDTH ? image.getWidth() : image.getHeight(), PAGE_SIZE);
+        }
+        int[] regions = index.regions;
+        int offset = handle * 2 * STRIDE;
+        if (offset >= regions.length)
+            return 0;
+        return Math.max(0, regions[offset + field]);
+    }
+
+    /**
+     * @return Anzahl der Atlasseiten, z.B. für die Debug-Anzeige
+     */
+    public int getPageCount() {
+        return index.pages.length;
+    }
+}
@@ -0,0 +1,111 @@
+package util;
+
+import javax.swing.*;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ablauf des Programmstarts als kleiner Abhängigkeitsgraph.
+ * Jede Phase startet, sobald die Phasen fertig sind, von denen sie abhängt; voneinander unabhängige Phasen
+ * laufen parallel. Fehler einer Phase werden ausgegeben und gelten als "fertig", damit ein fehlender Sound
+ * oder eine kaputte Datenbank nicht den ganzen Start blockieren. Die Dauer jeder Phase und der Zeitpunkt
+ * ihres Endes werden geloggt, damit sich die Kaltstartzeit verfolgen lässt.
+ */
+public class Startup {
+    private static Startup instance;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "Startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, CompletableFuture<Void>> phases = new HashMap<>();
+    private final long start = System.nanoTime();
+
+    /**
+     * Arbeit einer einzelnen Phase
+     */
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private Startup() {
+    }
+
+    public static synchronized Startup getInstance() {
+        if (instance == null)
+            instance = new Startup();
+        return instance;
+    }
+
+    /**
+     * Meldet eine Phase an, die auf einem Hintergrund-Thread läuft
+     *
+     * @param name         Name der Phase, für Abhängigkeiten und das Log
+     * @param task         Auszuführende Arbeit
+     * @param dependencies Namen der Phasen, die vorher fertig sein müssen; müssen bereits angemeldet sein
+     */
+    public void phase(String name, Task task, String... dependencies) {
+        phase(name, task, executor, dependencies);
+    }
+
+    /**
+     * Meldet eine Phase an, die auf dem EDT läuft, z.B. das Erzeugen des Fensters
+     *
+     * @see #phase(String, Task, String...)
+     */
+    public void phaseOnEdt(String name, Task task, String... dependencies) {
+        phase(name, task, SwingUtilities::invokeLater, dependencies);
+    }
+
+    private synchronized void phase(String name, Task task, Executor executor, String... dependencies) {
+        if (phases.containsKey(name))
+            throw new IllegalArgumentException("Startphase existiert bereits: " + name);
+        CompletableFuture<?>[] required = new CompletableFuture<?>[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            required[i] = phases.get(dependencies[i]);
+            if (required[i] == null)
+                throw new IllegalArgumentException("Unbekannte Startphase: " + dependencies[i]);
+        }
+        phases.put(name, CompletableFuture.allOf(required).thenRunAsync(() -> run(name, task), executor));
+    }
+
+    private void run(String name, Task task) {
+        long phaseStart = System.nanoTime();
+        try {
+            task.run();
+        } catch (Exception e) {
+            System.err.println("Startphase " + name + " fehlgeschlagen");
+            e.printStackTrace();
+        }
+        long end = System.nanoTime();
+        System.out.printf("Start: %-16s %7.1f ms (fertig nach %.1f ms)%n", name,
+                (end - phaseStart) / 1e6, (end - start) / 1e6);
+    }
+
+    /**
+     * Wartet, bis eine Phase fertig ist. Darf nicht auf dem EDT aufgerufen werden, solange noch
+     * EDT-Phasen ausstehen.
+     *
+     * @param name Name der Phase
+     */
+    public void await(String name) {
+        CompletableFuture<Void> phase;
+        synchronized (this) {
+            phase = phases.get(name);
+        }
+        if (phase != null)
+            phase.join();
+    }
+
+    /**
+     * @return Zeit seit dem Start der JVM in ms, z.B. um zu loggen, wann das Fenster sichtbar wurde
+     */
+    public static long getUptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}